@@ -4,35 +4,59 @@ import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.*;
 import com.example.coffeenotes.feature.catalog.methodpayload.dto.MethodPayloadMetadataDTO;
 import com.example.coffeenotes.feature.catalog.service.FavoriteService;
+import com.example.coffeenotes.feature.catalog.service.RecipeExportService;
+import com.example.coffeenotes.feature.catalog.service.RecipeImportService;
 import com.example.coffeenotes.feature.catalog.service.RecipeVersionService;
+import com.example.coffeenotes.feature.catalog.service.TaggedTrackDetails;
 import com.example.coffeenotes.util.JwtUtils;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/recipe")
 public class RecipeController {
     private final RecipeVersionService recipeService;
     private final FavoriteService favoriteService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
 
-    public RecipeController(RecipeVersionService recipeService, FavoriteService favoriteService) {
+    public RecipeController(RecipeVersionService recipeService, FavoriteService favoriteService,
+                            RecipeImportService recipeImportService, RecipeExportService recipeExportService) {
         this.recipeService = recipeService;
         this.favoriteService = favoriteService;
+        this.recipeImportService = recipeImportService;
+        this.recipeExportService = recipeExportService;
     }
 
     @GetMapping("/getRecipes")
-    public PagedResponseDTO<TrackSummaryResponseDTO> getRecipes(@AuthenticationPrincipal Jwt jwt, RecipeFilterDTO filter, Pageable pageable) {
+    public PagedResponseDTO<TrackSummaryResponseDTO> getRecipes(@AuthenticationPrincipal Jwt jwt, RecipeFilterDTO filter, Pageable pageable,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                @RequestParam(defaultValue = "false") boolean estimateTotal) {
         UUID userId = JwtUtils.extractUserId(jwt);
-        Page<TrackSummaryResponseDTO> page = recipeService.listRecipes(userId, filter, pageable);
-        return PagedResponseDTO.from(page);
+        return recipeService.listRecipes(userId, filter, pageable, after, withTotal, estimateTotal);
+    }
+
+    @GetMapping("/suggest")
+    public List<RecipeSuggestionDTO> suggestRecipes(@AuthenticationPrincipal Jwt jwt, RecipeFilterDTO filter,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        return recipeService.suggestRecipes(userId, filter, limit);
     }
 
     @PostMapping("/createRecipe")
@@ -42,6 +66,45 @@ public class RecipeController {
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
+    // The body is handed over as a stream and parsed row by row, never bound as a whole.
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public RecipeImportResultDTO importRecipes(@AuthenticationPrincipal Jwt jwt, InputStream body) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        return recipeImportService.importRecipes(userId, body);
+    }
+
+    // Written on the async request thread straight from the export cursor; gzip=true compresses the same body and
+    // marks it with Content-Encoding.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(@AuthenticationPrincipal Jwt jwt,
+                                                               @RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(defaultValue = "false") boolean gzip) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        boolean jsonArray = switch (format) {
+            case "ndjson" -> false;
+            case "json" -> true;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or json.");
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(jsonArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(jsonArray ? "recipes.json" : "recipes.ndjson")
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out);
+                recipeExportService.exportRecipes(userId, jsonArray, compressed);
+                compressed.finish();
+            } else {
+                recipeExportService.exportRecipes(userId, jsonArray, out);
+            }
+        });
+    }
+
     @PatchMapping("/updateRecipe/{trackId}")
     public ResponseEntity<RecipeVersionResponseDTO> updateRecipe(@PathVariable UUID trackId, @RequestBody UpdateRecipeRequestDTO body, @AuthenticationPrincipal Jwt jwt) {
         UUID userId = JwtUtils.extractUserId(jwt);
@@ -57,15 +120,52 @@ public class RecipeController {
     }
 
     @GetMapping("/getRecipe/{trackId}")
-    public TrackDetailsResponseDTO getRecipe(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID trackId) {
+    public ResponseEntity<TrackDetailsResponseDTO> getRecipe(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID trackId,
+                                                             WebRequest request) {
         UUID userId = JwtUtils.extractUserId(jwt);
-        return recipeService.getRecipe(userId, trackId);
+        TaggedTrackDetails recipe = recipeService.getRecipe(userId, trackId, request::checkNotModified);
+        if (recipe.details() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(recipe.eTag()).body(recipe.details());
+    }
+
+    @PostMapping("/batch")
+    public List<RecipeBatchItemDTO> getRecipeBatch(@AuthenticationPrincipal Jwt jwt, @RequestBody RecipeBatchRequestDTO body) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        return recipeService.getRecipeBatch(userId, body != null ? body.getTrackIds() : null);
     }
 
     @GetMapping("/getRecipeVersions/{trackId}")
-    public List<VersionHistoryItemDTO> getRecipeVersions(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID trackId) {
+    public ResponseEntity<List<VersionHistoryItemDTO>> getRecipeVersions(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID trackId,
+                                                                         WebRequest request) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        String eTag = recipeService.getRecipeVersionsETag(userId, trackId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(recipeService.listRecipeVersions(userId, trackId));
+    }
+
+    @GetMapping("/{trackId}/versions")
+    public ResponseEntity<PagedResponseDTO<VersionHistoryItemDTO>> getRecipeVersionPage(@AuthenticationPrincipal Jwt jwt,
+                                                                                    @PathVariable UUID trackId,
+                                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                                    @RequestParam(required = false) String after,
+                                                                                    WebRequest request) {
+        UUID userId = JwtUtils.extractUserId(jwt);
+        String eTag = recipeService.getRecipeVersionsETag(userId, trackId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(recipeService.listRecipeVersions(userId, trackId, size, after));
+    }
+
+    @GetMapping("/{trackId}/diff")
+    public RecipeDiffResponseDTO getRecipeDiff(@AuthenticationPrincipal Jwt jwt, @PathVariable UUID trackId,
+                                               @RequestParam Integer from, @RequestParam Integer to) {
         UUID userId = JwtUtils.extractUserId(jwt);
-        return recipeService.listRecipeVersions(userId, trackId);
+        return recipeService.getRecipeDiff(userId, trackId, from, to);
     }
 
     @GetMapping("/methods/{methodId}/metadata")
@@ -88,8 +188,10 @@ public class RecipeController {
     }
 
     @GetMapping("/favorites")
-    public List<TrackSummaryResponseDTO> listFavorites(@AuthenticationPrincipal Jwt jwt) {
+    public PagedResponseDTO<TrackSummaryResponseDTO> listFavorites(@AuthenticationPrincipal Jwt jwt,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(required = false) String after) {
         UUID userId = JwtUtils.extractUserId(jwt);
-        return favoriteService.listFavoriteRecipes(userId);
+        return favoriteService.listFavoriteRecipes(userId, size, after);
     }
 }
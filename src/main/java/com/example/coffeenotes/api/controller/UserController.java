@@ -52,14 +52,15 @@ public class UserController {
                 .build();
     }
 
+    // 202: the account is marked for deletion at once and purged in the background.
     @DeleteMapping("/deleteUser")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public ResponseEntity<Void> deleteUser(@AuthenticationPrincipal Jwt jwt) {
         UUID userId = JwtUtils.extractUserId(jwt);
         userService.deleteUser(userId);
         ResponseCookie clearCookie = CookieUtils.buildRefreshCookie("", 0, cookieSecure, cookieSameSite);
 
-        return ResponseEntity.noContent()
+        return ResponseEntity.accepted()
                 .header(HttpHeaders.SET_COOKIE, clearCookie.toString())
                 .build();
     }
@@ -12,10 +12,12 @@ public class PagedResponseDTO<T> {
     private List<T> items;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean totalEstimated;
     private boolean hasNext;
     private boolean hasPrevious;
+    private String nextCursor;
 
     public static <T> PagedResponseDTO<T> from(Page<T> page) {
         PagedResponseDTO<T> dto = new PagedResponseDTO<>();
@@ -0,0 +1,16 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FieldChangeDTO {
+    private String field;
+    private Object from;
+    private Object to;
+}
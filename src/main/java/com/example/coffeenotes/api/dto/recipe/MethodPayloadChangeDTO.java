@@ -0,0 +1,18 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// op is "add", "remove" or "replace"; path is a JSON Pointer into methodPayload.
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MethodPayloadChangeDTO {
+    private String op;
+    private String path;
+    private Object from;
+    private Object to;
+}
@@ -0,0 +1,18 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeBatchItemDTO {
+    private UUID trackId;
+    private boolean found;
+    private TrackDetailsResponseDTO recipe;
+}
@@ -0,0 +1,13 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class RecipeBatchRequestDTO {
+    private List<UUID> trackIds;
+}
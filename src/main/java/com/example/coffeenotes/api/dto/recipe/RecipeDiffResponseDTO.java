@@ -0,0 +1,19 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+// What changed from version fromVersion to version toVersion; every list holds only differences.
+@Getter
+@Setter
+public class RecipeDiffResponseDTO {
+    private UUID trackId;
+    private Integer fromVersion;
+    private Integer toVersion;
+    private List<FieldChangeDTO> fields;
+    private List<WaterPourChangeDTO> waterPours;
+    private List<MethodPayloadChangeDTO> methodPayload;
+}
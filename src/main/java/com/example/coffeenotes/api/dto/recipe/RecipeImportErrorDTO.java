@@ -0,0 +1,15 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeImportErrorDTO {
+    private int row;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+// One row of a bulk import. methodPayload may be a JSON object or a JSON-encoded string, as in createRecipe.
+@Getter
+@Setter
+public class RecipeImportItemDTO {
+    private UUID beanId;
+    private UUID methodId;
+    private String title;
+    private boolean isGlobal;
+    private JsonNode methodPayload;
+    private String coffeeAmount;
+    private String waterAmount;
+    private Integer grindSize;
+    private Integer brewTimeSeconds;
+    private Integer waterTemperatureCelsius;
+    private Integer rating;
+    private List<WaterPourDTO> waterPours;
+    private List<UUID> equipmentIds;
+}
@@ -0,0 +1,15 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class RecipeImportResultDTO {
+    private int imported;
+    private int failed;
+    private List<RecipeImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeSuggestionDTO {
+    private UUID trackId;
+    private String title;
+    private String methodName;
+    private boolean isGlobal;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.coffeenotes.api.dto.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Pours are matched by orderIndex; change is "added", "removed" or "changed".
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaterPourChangeDTO {
+    private Integer orderIndex;
+    private String change;
+    private WaterPourDTO from;
+    private WaterPourDTO to;
+}
@@ -1,5 +1,6 @@
 package com.example.coffeenotes.config;
 
+import com.example.coffeenotes.feature.user.service.PendingDeletionRegistry;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
@@ -17,6 +18,7 @@ import org.springframework.security.oauth2.jwt.*;
 import java.io.InputStream;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.UUID;
 
 @Configuration
 public class JwtConfig {
@@ -43,6 +45,7 @@ public class JwtConfig {
 
     @Bean
     public JwtDecoder jwtDecoder(RSAPublicKey publicKey,
+                                 PendingDeletionRegistry pendingDeletionRegistry,
                                  @Value("${app.security.jwt.issuer}") String issuer,
                                  @Value("${app.security.jwt.audience}") String audience) {
         NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
@@ -53,7 +56,23 @@ public class JwtConfig {
                 : OAuth2TokenValidatorResult.failure(
                 new OAuth2Error("invalid_token", "Invalid audience", null));
 
-        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(withIssuer, withAudience));
+        // Login and refresh refuse accounts waiting to be purged; access tokens issued before the request are refused
+        // here, from memory.
+        OAuth2TokenValidator<Jwt> notPendingDeletion = jwt -> isPendingDeletion(pendingDeletionRegistry, jwt.getSubject())
+                ? OAuth2TokenValidatorResult.failure(
+                new OAuth2Error("invalid_token", "Account is being deleted", null))
+                : OAuth2TokenValidatorResult.success();
+
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(withIssuer, withAudience, notPendingDeletion));
         return decoder;
     }
-}
\ No newline at end of file
+
+    private static boolean isPendingDeletion(PendingDeletionRegistry pendingDeletionRegistry, String subject) {
+        try {
+            return subject != null && pendingDeletionRegistry.isPending(UUID.fromString(subject));
+        } catch (IllegalArgumentException e) {
+            // Malformed subjects are rejected by JwtUtils.extractUserId.
+            return false;
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class SecurityConfig {
                     auth.requestMatchers(HttpMethod.POST, "/api/equipment/createEquipment").hasRole("ADMIN");
                     auth.requestMatchers(HttpMethod.PUT, "/api/equipment/editEquipment/{id}").hasRole("ADMIN");
                     auth.requestMatchers(HttpMethod.DELETE, "/api/equipment/deleteEquipment/{id}").hasRole("ADMIN");
+                    auth.requestMatchers("/actuator/**").hasRole("ADMIN");
                     auth.anyRequest().authenticated();
                 })
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)))
@@ -64,7 +65,8 @@ public class SecurityConfig {
                 .filter(origin -> !origin.isBlank())
                 .toList());
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match"));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -7,6 +7,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "favorites", schema = "coffeenotes")
@@ -27,4 +30,8 @@ public class Favorite{
     @MapsId("recipeTrackId")
     @JoinColumn(name = "recipe_track_id", nullable = false)
     private RecipeTrack recipeTrack;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
 }
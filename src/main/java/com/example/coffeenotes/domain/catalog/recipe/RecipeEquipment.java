@@ -2,18 +2,18 @@ package com.example.coffeenotes.domain.catalog.recipe;
 
 import com.example.coffeenotes.domain.catalog.Equipment;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "recipe_equipment", schema = "coffeenotes")
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
-public class RecipeEquipment {
+public class RecipeEquipment implements Persistable<RecipeEquipmentId> {
     @EmbeddedId
     private RecipeEquipmentId id;
 
@@ -26,4 +26,27 @@ public class RecipeEquipment {
     @MapsId("equipmentId")
     @JoinColumn(name = "equipment_id", nullable = false)
     private Equipment equipment;
+
+    // The id is assigned up front, so without this save() would merge and SELECT each new row before inserting it.
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    public RecipeEquipment(RecipeEquipmentId id, RecipeVersion recipeVersion, Equipment equipment) {
+        this.id = id;
+        this.recipeVersion = recipeVersion;
+        this.equipment = equipment;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
@@ -44,6 +44,17 @@ public class RecipeTrack {
     @Column(name = "is_global", nullable = false)
     private boolean isGlobal;
 
+    @Column(name = "search_document", nullable = false)
+    private String searchDocument = "";
+
+    @Column(name = "current_version_number")
+    private Integer currentVersionNumber;
+    @Column(name = "current_rating")
+    private Integer currentRating;
+    @Column(name = "current_brew_time_seconds")
+    private Integer currentBrewTimeSeconds;
+    @Column(name = "current_version_updated_at")
+    private LocalDateTime currentVersionUpdatedAt;
 
     @Column(name = "created_at", nullable = false)
     @CreationTimestamp
@@ -0,0 +1,49 @@
+package com.example.coffeenotes.domain.user;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Progress of one account deletion. The counters are updated in the same transaction as each purge batch, so they
+// always match what is already gone; completedAt is set once the user row itself has been deleted.
+@Entity
+@Table(name = "user_deletion_jobs", schema = "coffeenotes")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserDeletionJob {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "versions_deleted", nullable = false)
+    private long versionsDeleted;
+
+    @Column(name = "tracks_deleted", nullable = false)
+    private long tracksDeleted;
+
+    @Column(name = "beans_deleted", nullable = false)
+    private long beansDeleted;
+
+    @Column(name = "media_deleted", nullable = false)
+    private long mediaDeleted;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
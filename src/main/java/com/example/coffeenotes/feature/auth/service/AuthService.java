@@ -99,6 +99,9 @@ public class AuthService {
         }
         User user = userRepository.findByEmail(normalizedEmail).
                     orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid Credentials."));
+        if(userRepository.isPendingDeletion(user.getId())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid Credentials.");
+        }
 
         String token = jwtTokenService.generateAccessToken(user);
 
@@ -0,0 +1,72 @@
+package com.example.coffeenotes.feature.catalog.methodpayload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Structural diff of two method payloads as add/remove/replace operations on JSON Pointer paths (RFC 6901). Objects
+// are compared field by field and arrays index by index, so the cost is linear in the size of both documents; any
+// other difference, including a change of node type, is a single replace of that node.
+public final class MethodPayloadDiff {
+
+    public static final String ADD = "add";
+    public static final String REMOVE = "remove";
+    public static final String REPLACE = "replace";
+
+    private MethodPayloadDiff() {
+    }
+
+    // from is null for add, to is null for remove.
+    public record Change(String op, String path, JsonNode from, JsonNode to) {
+    }
+
+    public static List<Change> diff(JsonNode from, JsonNode to) {
+        List<Change> changes = new ArrayList<>();
+        diff("", from, to, changes);
+        return changes;
+    }
+
+    private static void diff(String path, JsonNode from, JsonNode to, List<Change> changes) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (from.isObject() && to.isObject()) {
+            for (Map.Entry<String, JsonNode> field : from.properties()) {
+                String fieldPath = path + "/" + escape(field.getKey());
+                JsonNode target = to.get(field.getKey());
+                if (target == null) {
+                    changes.add(new Change(REMOVE, fieldPath, field.getValue(), null));
+                } else {
+                    diff(fieldPath, field.getValue(), target, changes);
+                }
+            }
+            for (Map.Entry<String, JsonNode> field : to.properties()) {
+                if (!from.has(field.getKey())) {
+                    changes.add(new Change(ADD, path + "/" + escape(field.getKey()), null, field.getValue()));
+                }
+            }
+            return;
+        }
+        if (from.isArray() && to.isArray()) {
+            int common = Math.min(from.size(), to.size());
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + i, from.get(i), to.get(i), changes);
+            }
+            // Highest index first, so the removes still apply one after another as a JSON Patch.
+            for (int i = from.size() - 1; i >= common; i--) {
+                changes.add(new Change(REMOVE, path + "/" + i, from.get(i), null));
+            }
+            for (int i = common; i < to.size(); i++) {
+                changes.add(new Change(ADD, path + "/" + i, null, to.get(i)));
+            }
+            return;
+        }
+        changes.add(new Change(REPLACE, path, from, to));
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.coffeenotes.feature.catalog.repository;
 
 import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,4 +20,7 @@ public interface CoffeeBeanRepository extends JpaRepository<CoffeeBean, UUID> {
     List<CoffeeBean> findVisibleBeans(@Param("userId") UUID userId);
     List<CoffeeBean>
     findAllByOwner_Id(UUID ownerId);
+
+    @Query("SELECT b.id FROM CoffeeBean b WHERE b.owner.id = :ownerId")
+    List<UUID> findIdsByOwner(@Param("ownerId") UUID ownerId, Limit limit);
 }
\ No newline at end of file
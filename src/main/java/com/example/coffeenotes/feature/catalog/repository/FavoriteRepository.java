@@ -2,18 +2,43 @@ package com.example.coffeenotes.feature.catalog.repository;
 
 import com.example.coffeenotes.domain.catalog.Favorite;
 import com.example.coffeenotes.domain.catalog.FavoriteId;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface FavoriteRepository extends JpaRepository<Favorite, FavoriteId> {
-    @EntityGraph(attributePaths = {"recipeTrack", "recipeTrack.owner"})
-    List<Favorite> findByUser_Id(UUID userId);
+    // The user's favorites on tracks they can still see, newest first; walks favorites_user_created_idx.
+    String FAVORITE_TRACKS_QUERY =
+            "SELECT new com.example.coffeenotes.feature.catalog.repository.FavoriteTrackView(" +
+            "f.createdAt, t.id, b.id, b.name, m.id, m.name, t.title, t.isGlobal, " +
+            "t.currentVersionNumber, t.currentRating, t.currentVersionUpdatedAt) " +
+            "FROM Favorite f JOIN f.recipeTrack t JOIN t.method m LEFT JOIN t.bean b " +
+            "WHERE f.id.userId = :userId AND t.deletedAt IS NULL AND (t.isGlobal = true OR t.owner.id = :userId) ";
+
+    String FAVORITE_TRACKS_ORDER = "ORDER BY f.createdAt DESC, f.id.recipeTrackId DESC";
+
+    @Query(FAVORITE_TRACKS_QUERY + FAVORITE_TRACKS_ORDER)
+    List<FavoriteTrackView> findFavoriteTracks(@Param("userId") UUID userId, Limit limit);
+
+    @Query(FAVORITE_TRACKS_QUERY +
+            "AND (f.createdAt, f.id.recipeTrackId) < (:favoritedAt, :trackId) " + FAVORITE_TRACKS_ORDER)
+    List<FavoriteTrackView> findFavoriteTracksAfter(@Param("userId") UUID userId,
+                                                    @Param("favoritedAt") LocalDateTime favoritedAt,
+                                                    @Param("trackId") UUID trackId,
+                                                    Limit limit);
+
+    @Query("SELECT f.id.recipeTrackId FROM Favorite f WHERE f.id.userId = :userId AND f.id.recipeTrackId IN :trackIds")
+    Set<UUID> findFavoriteTrackIds(@Param("userId") UUID userId, @Param("trackIds") Collection<UUID> trackIds);
 
     boolean existsByUser_IdAndRecipeTrack_Id(UUID userId, UUID recipeTrackId);
 
     void deleteByUser_IdAndRecipeTrack_Id(UUID userId, UUID recipeTrackId);
 
-}
\ No newline at end of file
+}
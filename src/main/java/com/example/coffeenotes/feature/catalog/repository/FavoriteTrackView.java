@@ -0,0 +1,20 @@
+package com.example.coffeenotes.feature.catalog.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row of a user's favorites page: when the track was favorited plus the columns TrackSummaryResponseDTO needs.
+public record FavoriteTrackView(
+        LocalDateTime favoritedAt,
+        UUID trackId,
+        UUID beanId,
+        String beanName,
+        UUID methodId,
+        String methodName,
+        String title,
+        boolean isGlobal,
+        Integer currentVersionNumber,
+        Integer currentRating,
+        LocalDateTime currentVersionUpdatedAt
+) {
+}
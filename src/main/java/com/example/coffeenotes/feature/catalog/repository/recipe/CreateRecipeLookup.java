@@ -0,0 +1,15 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.user.User;
+
+// Everything createRecipe validates against, read in one round trip. The bean is null when none was requested or it
+// does not exist; duplicateTrack tells whether the owner already has a live track for that bean and method.
+public record CreateRecipeLookup(
+        User owner,
+        BrewMethods method,
+        CoffeeBean bean,
+        boolean duplicateTrack
+) {
+}
@@ -3,6 +3,9 @@ package com.example.coffeenotes.feature.catalog.repository.recipe;
 import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipment;
 import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipmentId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,4 +17,18 @@ public interface RecipeEquipmentRepository extends JpaRepository<RecipeEquipment
     void deleteByRecipeVersion_Id(UUID recipeVersionId);
 
     void deleteByRecipeVersion_IdIn(Collection<UUID> recipeVersionIds);
+
+    // One DELETE statement, without loading the rows first.
+    @Modifying
+    @Query("DELETE FROM RecipeEquipment e WHERE e.recipeVersion.id IN :recipeVersionIds")
+    int bulkDeleteByRecipeVersionIds(@Param("recipeVersionIds") Collection<UUID> recipeVersionIds);
+
+    @Modifying
+    @Query(
+            value = "INSERT INTO coffeenotes.recipe_equipment (recipe_version_id, equipment_id) " +
+                    "SELECT :targetVersionId, e.equipment_id " +
+                    "FROM coffeenotes.recipe_equipment e WHERE e.recipe_version_id = :sourceVersionId",
+            nativeQuery = true
+    )
+    int copyToVersion(@Param("sourceVersionId") UUID sourceVersionId, @Param("targetVersionId") UUID targetVersionId);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One version of one track as read by the export cursor. Version columns are null for a track without versions;
+// methodPayload, waterPoursJson and equipmentIdsJson are JSON text written out as is.
+public record RecipeExportRow(
+        UUID trackId,
+        UUID beanId,
+        String beanName,
+        UUID methodId,
+        String methodName,
+        String trackTitle,
+        boolean isGlobal,
+        LocalDateTime trackCreatedAt,
+        LocalDateTime trackUpdatedAt,
+        UUID versionId,
+        Integer versionNumber,
+        boolean isCurrent,
+        String versionTitle,
+        String coffeeAmount,
+        String waterAmount,
+        Integer grindSize,
+        Integer brewTimeSeconds,
+        Integer waterTemperatureCelsius,
+        Integer rating,
+        String methodPayload,
+        LocalDateTime versionCreatedAt,
+        LocalDateTime versionUpdatedAt,
+        String waterPoursJson,
+        String equipmentIdsJson
+) {
+}
@@ -1,102 +1,86 @@
 package com.example.coffeenotes.feature.catalog.repository.recipe;
 
 import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface RecipeTrackRepository extends JpaRepository<RecipeTrack, UUID> {
+public interface RecipeTrackRepository extends JpaRepository<RecipeTrack, UUID>, JpaSpecificationExecutor<RecipeTrack>, RecipeTrackRepositoryCustom {
     Optional<RecipeTrack> findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull(UUID ownerId, UUID beanId, UUID methodId);
 
     Optional<RecipeTrack> findByIdAndOwner_IdAndDeletedAtIsNull(UUID trackId, UUID ownerId);
 
+    // isGlobal of the owner's live track; empty when it is missing, deleted or someone else's.
+    @Query("SELECT t.isGlobal FROM RecipeTrack t WHERE t.id = :trackId AND t.owner.id = :ownerId AND t.deletedAt IS NULL")
+    Optional<Boolean> findLiveGlobalFlag(@Param("trackId") UUID trackId, @Param("ownerId") UUID ownerId);
+
+    // Tombstones the owner's live track and clears its current-version columns, as syncCurrentVersion(track, null)
+    // does. Returns 0 when the track was already deleted in the meantime.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RecipeTrack t SET t.deletedAt = :deletedAt, t.updatedAt = :deletedAt, " +
+            "t.currentVersionNumber = null, t.currentRating = null, t.currentBrewTimeSeconds = null, " +
+            "t.currentVersionUpdatedAt = null " +
+            "WHERE t.id = :trackId AND t.owner.id = :ownerId AND t.deletedAt IS NULL")
+    int softDelete(@Param("trackId") UUID trackId, @Param("ownerId") UUID ownerId,
+                   @Param("deletedAt") LocalDateTime deletedAt);
+
     List<RecipeTrack> findAllByOwner_IdAndDeletedAtIsNullOrderByUpdatedAtDesc(UUID ownerId);
 
     List<RecipeTrack> findAllByOwner_Id(UUID ownerId);
 
+    @Query("SELECT t.id FROM RecipeTrack t WHERE t.owner.id = :ownerId")
+    List<UUID> findIdsByOwner(@Param("ownerId") UUID ownerId, Limit limit);
+
+    boolean existsByIdInAndIsGlobalTrue(Collection<UUID> trackIds);
+
+    // Served by recipe_tracks_deleted_at_idx.
+    @Query("SELECT t.id FROM RecipeTrack t WHERE t.deletedAt < :cutoff")
+    List<UUID> findIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @EntityGraph(attributePaths = {"method"})
+    List<RecipeTrack> findAllByDeletedAtIsNull();
+
+    @Query("SELECT new com.example.coffeenotes.feature.catalog.repository.recipe.TrackVersionStamp(" +
+            "t.owner.id, t.isGlobal, t.updatedAt, m.name, v.id, v.updatedAt, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM Favorite f WHERE f.id.userId = :viewerId AND f.id.recipeTrackId = t.id) " +
+            "THEN true ELSE false END) " +
+            "FROM RecipeTrack t JOIN t.method m LEFT JOIN RecipeVersion v ON v.track = t AND v.isCurrent = true " +
+            "WHERE t.id = :trackId AND t.deletedAt IS NULL")
+    Optional<TrackVersionStamp> findVersionStamp(@Param("trackId") UUID trackId, @Param("viewerId") UUID viewerId);
+
+    // Empty when the user or the method does not exist.
+    @Query("SELECT new com.example.coffeenotes.feature.catalog.repository.recipe.CreateRecipeLookup(u, m, b, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM RecipeTrack t WHERE t.owner.id = :userId AND t.bean.id = :beanId " +
+            "AND t.method.id = :methodId AND t.deletedAt IS NULL) THEN true ELSE false END) " +
+            "FROM User u JOIN BrewMethods m ON m.id = :methodId LEFT JOIN CoffeeBean b ON b.id = :beanId " +
+            "WHERE u.id = :userId")
+    Optional<CreateRecipeLookup> findCreateLookup(@Param("userId") UUID userId, @Param("methodId") UUID methodId,
+                                                  @Param("beanId") UUID beanId);
+
+    // The owner's live (bean, method) pairs among the given beans, for duplicate checks over a whole import chunk.
+    @Query("SELECT new com.example.coffeenotes.feature.catalog.repository.recipe.TrackBeanMethod(t.bean.id, t.method.id) " +
+            "FROM RecipeTrack t WHERE t.owner.id = :ownerId AND t.bean.id IN :beanIds AND t.deletedAt IS NULL")
+    List<TrackBeanMethod> findLiveBeanMethods(@Param("ownerId") UUID ownerId, @Param("beanIds") Collection<UUID> beanIds);
+
+    @Modifying
     @Query(
-            value = "SELECT DISTINCT t FROM RecipeTrack t " +
-                    "JOIN RecipeVersion v ON v.track = t AND v.isCurrent = true AND v.deletedAt IS NULL " +
-                    "JOIN t.method m " +
-                    "LEFT JOIN t.bean b " +
-                    "WHERE t.deletedAt IS NULL " +
-                    "AND (t.owner.id = :ownerId OR t.isGlobal = true) " +
-                    "AND (:methodId IS NULL OR m.id = :methodId) " +
-                    "AND (:beanId IS NULL OR (b IS NOT NULL AND b.id = :beanId)) " +
-                    "AND (:equipmentId IS NULL OR EXISTS (" +
-                    "       SELECT 1 FROM RecipeEquipment re " +
-                    "       WHERE re.recipeVersion = v AND re.equipment.id = :equipmentId" +
-                    "    )) " +
-                    "AND (:isGlobal IS NULL OR t.isGlobal = :isGlobal) " +
-                    "AND (:hasBean IS NULL OR (:hasBean = true AND t.bean IS NOT NULL) OR (:hasBean = false AND t.bean IS NULL)) " +
-                    "AND (:favoriteOnly = FALSE OR EXISTS (" +
-                    "       SELECT 1 FROM Favorite f WHERE f.recipeTrack = t AND f.user.id = :ownerId" +
-                    "    )) " +
-                    "AND (:ratingMin IS NULL OR v.rating >= :ratingMin) " +
-                    "AND (:ratingMax IS NULL OR v.rating <= :ratingMax) " +
-                    "AND (:brewTimeMinSeconds IS NULL OR v.brewTimeSeconds >= :brewTimeMinSeconds) " +
-                    "AND (:brewTimeMaxSeconds IS NULL OR v.brewTimeSeconds <= :brewTimeMaxSeconds) " +
-                    "AND (:applyUpdatedFrom = false OR v.updatedAt >= :updatedFrom) " +
-                    "AND (:applyUpdatedTo = false OR v.updatedAt <= :updatedTo) " +
-                    "AND (:qEnabled = false OR " +
-                    "     lower(t.title) LIKE :qPattern OR " +
-                    "     lower(m.name) LIKE :qPattern OR " +
-                    "     (b IS NOT NULL AND lower(b.name) LIKE :qPattern) " +
-                    ") " +
-                    "ORDER BY t.updatedAt DESC",
-            countQuery = "SELECT COUNT(DISTINCT t) FROM RecipeTrack t " +
-                    "JOIN RecipeVersion v ON v.track = t AND v.isCurrent = true AND v.deletedAt IS NULL " +
-                    "JOIN t.method m " +
-                    "LEFT JOIN t.bean b " +
-                    "WHERE t.deletedAt IS NULL " +
-                    "AND (t.owner.id = :ownerId OR t.isGlobal = true) " +
-                    "AND (:methodId IS NULL OR m.id = :methodId) " +
-                    "AND (:beanId IS NULL OR (b IS NOT NULL AND b.id = :beanId)) " +
-                    "AND (:equipmentId IS NULL OR EXISTS (" +
-                    "       SELECT 1 FROM RecipeEquipment re " +
-                    "       WHERE re.recipeVersion = v AND re.equipment.id = :equipmentId" +
-                    "    )) " +
-                    "AND (:isGlobal IS NULL OR t.isGlobal = :isGlobal) " +
-                    "AND (:hasBean IS NULL OR (:hasBean = true AND t.bean IS NOT NULL) OR (:hasBean = false AND t.bean IS NULL)) " +
-                    "AND (:favoriteOnly = FALSE OR EXISTS (" +
-                    "       SELECT 1 FROM Favorite f WHERE f.recipeTrack = t AND f.user.id = :ownerId" +
-                    "    )) " +
-                    "AND (:ratingMin IS NULL OR v.rating >= :ratingMin) " +
-                    "AND (:ratingMax IS NULL OR v.rating <= :ratingMax) " +
-                    "AND (:brewTimeMinSeconds IS NULL OR v.brewTimeSeconds >= :brewTimeMinSeconds) " +
-                    "AND (:brewTimeMaxSeconds IS NULL OR v.brewTimeSeconds <= :brewTimeMaxSeconds) " +
-                    "AND (:applyUpdatedFrom = false OR v.updatedAt >= :updatedFrom) " +
-                    "AND (:applyUpdatedTo = false OR v.updatedAt <= :updatedTo) " +
-                    "AND (:qEnabled = false OR " +
-                    "     lower(t.title) LIKE :qPattern OR " +
-                    "     lower(m.name) LIKE :qPattern OR " +
-                    "     (b IS NOT NULL AND lower(b.name) LIKE :qPattern) " +
-                    ")"
+            value = "UPDATE coffeenotes.recipe_tracks t " +
+                    "SET search_document = lower(concat_ws(' ', " +
+                    "t.title, " +
+                    "(SELECT m.name FROM coffeenotes.brew_methods m WHERE m.id = t.method_id), " +
+                    "(SELECT concat_ws(' ', b.name, b.roaster, b.origin) FROM coffeenotes.coffee_beans b WHERE b.id = t.bean_id))) " +
+                    "WHERE t.method_id = :methodId",
+            nativeQuery = true
     )
-    Page<RecipeTrack> findVisibleTracks(
-            @Param("ownerId") UUID ownerId,
-            @Param("methodId") UUID methodId,
-            @Param("beanId") UUID beanId,
-            @Param("equipmentId") UUID equipmentId,
-            @Param("isGlobal") Boolean isGlobal,
-            @Param("hasBean") Boolean hasBean,
-            @Param("favoriteOnly") boolean favoriteOnly,
-            @Param("ratingMin") Integer ratingMin,
-            @Param("ratingMax") Integer ratingMax,
-            @Param("brewTimeMinSeconds") Integer brewTimeMinSeconds,
-            @Param("brewTimeMaxSeconds") Integer brewTimeMaxSeconds,
-            @Param("applyUpdatedFrom") boolean applyUpdatedFrom,
-            @Param("updatedFrom") LocalDateTime updatedFrom,
-            @Param("applyUpdatedTo") boolean applyUpdatedTo,
-            @Param("updatedTo") LocalDateTime updatedTo,
-            @Param("qEnabled") boolean qEnabled,
-            @Param("qPattern") String qPattern,
-            Pageable pageable);
+    int refreshSearchDocumentsForMethod(@Param("methodId") UUID methodId);
 }
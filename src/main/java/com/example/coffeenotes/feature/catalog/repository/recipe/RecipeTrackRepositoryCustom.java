@@ -0,0 +1,25 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface RecipeTrackRepositoryCustom {
+    long estimateVisibleTracks(UUID ownerId);
+
+    List<TrackSummaryView> findSummaries(Specification<RecipeTrack> spec, Sort sort, long offset, int limit);
+
+    Optional<TrackDetailsView> findDetails(UUID trackId, UUID viewerId);
+
+    List<TrackDetailsView> findAllDetails(Collection<UUID> trackIds, UUID viewerId);
+
+    List<VersionSnapshotView> findVersionSnapshots(UUID trackId, Collection<Integer> versionNumbers);
+
+    Stream<RecipeExportRow> streamExport(UUID ownerId);
+}
@@ -0,0 +1,284 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class RecipeTrackRepositoryImpl implements RecipeTrackRepositoryCustom {
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final TypeReference<List<TrackDetailsView.Pour>> POURS = new TypeReference<>() {};
+    private static final TypeReference<List<UUID>> IDS = new TypeReference<>() {};
+
+    private static final String DETAILS_QUERY =
+            "SELECT t.id AS track_id, t.owner_id, t.is_global, t.title, t.created_at, t.updated_at, " +
+            "b.id AS bean_id, b.name AS bean_name, b.roaster, b.origin, b.process, b.notes, " +
+            "m.id AS method_id, m.name AS method_name, " +
+            "v.id AS version_id, v.version_number, coalesce(v.is_current, false) AS is_current, " +
+            "v.coffee_amount, v.water_amount, v.grind_size, v.brew_time_seconds, v.water_temperature_celsius, " +
+            "v.rating, v.method_payload, v.updated_at AS version_updated_at, " +
+            "EXISTS (SELECT 1 FROM coffeenotes.favorites f " +
+            "WHERE f.user_id = :viewerId AND f.recipe_track_id = t.id) AS favorite, " +
+            "cast((SELECT coalesce(json_agg(json_build_object(" +
+            "'waterAmountMl', p.water_amount_ml, 'time', p.time, 'orderIndex', p.order_index) ORDER BY p.order_index), '[]') " +
+            "FROM coffeenotes.recipe_water_pours p WHERE p.recipe_version_id = v.id) AS text) AS water_pours, " +
+            "cast((SELECT coalesce(json_agg(e.equipment_id), '[]') " +
+            "FROM coffeenotes.recipe_equipment e WHERE e.recipe_version_id = v.id) AS text) AS equipment_ids " +
+            "FROM coffeenotes.recipe_tracks t " +
+            "JOIN coffeenotes.brew_methods m ON m.id = t.method_id " +
+            "LEFT JOIN coffeenotes.coffee_beans b ON b.id = t.bean_id " +
+            "LEFT JOIN coffeenotes.recipe_versions v ON v.track_id = t.id AND v.is_current = true " +
+            "WHERE t.id IN (:trackIds) AND t.deleted_at IS NULL";
+
+    private static final String SNAPSHOTS_QUERY =
+            "SELECT t.owner_id, t.is_global, v.id AS version_id, v.version_number, v.title, " +
+            "v.coffee_amount, v.water_amount, v.grind_size, v.brew_time_seconds, v.water_temperature_celsius, " +
+            "v.rating, v.method_payload, " +
+            "cast((SELECT coalesce(json_agg(json_build_object(" +
+            "'waterAmountMl', p.water_amount_ml, 'time', p.time, 'orderIndex', p.order_index) ORDER BY p.order_index), '[]') " +
+            "FROM coffeenotes.recipe_water_pours p WHERE p.recipe_version_id = v.id) AS text) AS water_pours, " +
+            "cast((SELECT coalesce(json_agg(e.equipment_id ORDER BY e.equipment_id), '[]') " +
+            "FROM coffeenotes.recipe_equipment e WHERE e.recipe_version_id = v.id) AS text) AS equipment_ids " +
+            "FROM coffeenotes.recipe_tracks t " +
+            "LEFT JOIN coffeenotes.recipe_versions v ON v.track_id = t.id AND v.deleted_at IS NULL " +
+            "AND v.version_number IN (:versionNumbers) " +
+            "WHERE t.id = :trackId AND t.deleted_at IS NULL";
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final String EXPORT_QUERY =
+            "SELECT t.id AS track_id, b.id AS bean_id, b.name AS bean_name, m.id AS method_id, m.name AS method_name, " +
+            "t.title AS track_title, t.is_global, t.created_at AS track_created_at, t.updated_at AS track_updated_at, " +
+            "v.id AS version_id, v.version_number, coalesce(v.is_current, false) AS is_current, v.title AS version_title, " +
+            "v.coffee_amount, v.water_amount, v.grind_size, v.brew_time_seconds, v.water_temperature_celsius, " +
+            "v.rating, v.method_payload, v.created_at AS version_created_at, v.updated_at AS version_updated_at, " +
+            "cast((SELECT coalesce(json_agg(json_build_object(" +
+            "'waterAmountMl', p.water_amount_ml, 'time', p.time, 'orderIndex', p.order_index) ORDER BY p.order_index), '[]') " +
+            "FROM coffeenotes.recipe_water_pours p WHERE p.recipe_version_id = v.id) AS text) AS water_pours, " +
+            "cast((SELECT coalesce(json_agg(e.equipment_id ORDER BY e.equipment_id), '[]') " +
+            "FROM coffeenotes.recipe_equipment e WHERE e.recipe_version_id = v.id) AS text) AS equipment_ids " +
+            "FROM coffeenotes.recipe_tracks t " +
+            "JOIN coffeenotes.brew_methods m ON m.id = t.method_id " +
+            "LEFT JOIN coffeenotes.coffee_beans b ON b.id = t.bean_id " +
+            "LEFT JOIN coffeenotes.recipe_versions v ON v.track_id = t.id AND v.deleted_at IS NULL " +
+            "WHERE t.owner_id = :ownerId AND t.deleted_at IS NULL " +
+            "ORDER BY t.created_at, t.id, v.version_number";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Reads the planner's row estimate for the unfiltered visibility predicate instead of counting rows.
+    @Override
+    public long estimateVisibleTracks(UUID ownerId) {
+        List<?> plan = entityManager.createNativeQuery(
+                        "EXPLAIN SELECT 1 FROM coffeenotes.recipe_tracks t " +
+                        "WHERE t.deleted_at IS NULL AND (t.owner_id = :ownerId OR t.is_global = true)")
+                .setParameter("ownerId", ownerId)
+                .getResultList();
+        if (plan.isEmpty()) {
+            return 0;
+        }
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    // Selects summary columns straight into TrackSummaryView, so list pages hydrate no entities. An unsorted
+    // Sort keeps whatever ordering the specification itself applied.
+    @Override
+    public List<TrackSummaryView> findSummaries(Specification<RecipeTrack> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TrackSummaryView> query = cb.createQuery(TrackSummaryView.class);
+        Root<RecipeTrack> t = query.from(RecipeTrack.class);
+        Join<RecipeTrack, CoffeeBean> bean = t.join("bean", JoinType.LEFT);
+        Join<RecipeTrack, BrewMethods> method = t.join("method");
+        query.select(cb.construct(TrackSummaryView.class,
+                t.get("id"),
+                bean.get("id"),
+                bean.get("name"),
+                method.get("id"),
+                method.get("name"),
+                t.get("title"),
+                t.get("isGlobal"),
+                t.get("currentVersionNumber"),
+                t.get("currentRating"),
+                t.get("currentVersionUpdatedAt"),
+                t.get("updatedAt")
+        ));
+        Predicate predicate = spec.toPredicate(t, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, t, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<TrackDetailsView> findDetails(UUID trackId, UUID viewerId) {
+        return findAllDetails(List.of(trackId), viewerId).stream().findFirst();
+    }
+
+    // Assembles whole detail views in one round trip; pours and equipment come back as JSON arrays.
+    @Override
+    public List<TrackDetailsView> findAllDetails(Collection<UUID> trackIds, UUID viewerId) {
+        if (trackIds.isEmpty()) {
+            return List.of();
+        }
+        List<Tuple> rows = tupleQuery(DETAILS_QUERY)
+                .setParameter("trackIds", trackIds)
+                .setParameter("viewerId", viewerId)
+                .getResultList();
+        return rows.stream().map(RecipeTrackRepositoryImpl::toDetailsView).toList();
+    }
+
+    // The requested versions of a live track with their children, in one round trip. Empty when the track does not
+    // exist; a single row without version columns when none of the versions do.
+    @Override
+    public List<VersionSnapshotView> findVersionSnapshots(UUID trackId, Collection<Integer> versionNumbers) {
+        List<Tuple> rows = tupleQuery(SNAPSHOTS_QUERY)
+                .setParameter("trackId", trackId)
+                .setParameter("versionNumbers", versionNumbers)
+                .getResultList();
+        return rows.stream().map(row -> new VersionSnapshotView(
+                row.get("owner_id", UUID.class),
+                row.get("is_global", Boolean.class),
+                row.get("version_id", UUID.class),
+                row.get("version_number", Integer.class),
+                row.get("title", String.class),
+                row.get("coffee_amount", String.class),
+                row.get("water_amount", String.class),
+                row.get("grind_size", Integer.class),
+                row.get("brew_time_seconds", Integer.class),
+                row.get("water_temperature_celsius", Integer.class),
+                row.get("rating", Integer.class),
+                row.get("method_payload", String.class),
+                json(row.get("water_pours", String.class), POURS),
+                json(row.get("equipment_ids", String.class), IDS)
+        )).toList();
+    }
+
+    // One row per version, ordered by track then version, read through a forward-only cursor a fetch at a time. The
+    // caller must consume and close the stream inside a transaction.
+    @Override
+    public Stream<RecipeExportRow> streamExport(UUID ownerId) {
+        Stream<Tuple> rows = tupleQuery(EXPORT_QUERY)
+                .setParameter("ownerId", ownerId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .getResultStream();
+        return rows.map(RecipeTrackRepositoryImpl::toExportRow);
+    }
+
+    // Hibernate's own createNativeQuery is typed by the result class, unlike the raw JPA Query.
+    private NativeQuery<Tuple> tupleQuery(String sql) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql, Tuple.class);
+    }
+
+    private static RecipeExportRow toExportRow(Tuple row) {
+        return new RecipeExportRow(
+                row.get("track_id", UUID.class),
+                row.get("bean_id", UUID.class),
+                row.get("bean_name", String.class),
+                row.get("method_id", UUID.class),
+                row.get("method_name", String.class),
+                row.get("track_title", String.class),
+                row.get("is_global", Boolean.class),
+                timestamp(row.get("track_created_at")),
+                timestamp(row.get("track_updated_at")),
+                row.get("version_id", UUID.class),
+                row.get("version_number", Integer.class),
+                row.get("is_current", Boolean.class),
+                row.get("version_title", String.class),
+                row.get("coffee_amount", String.class),
+                row.get("water_amount", String.class),
+                row.get("grind_size", Integer.class),
+                row.get("brew_time_seconds", Integer.class),
+                row.get("water_temperature_celsius", Integer.class),
+                row.get("rating", Integer.class),
+                row.get("method_payload", String.class),
+                timestamp(row.get("version_created_at")),
+                timestamp(row.get("version_updated_at")),
+                row.get("water_pours", String.class),
+                row.get("equipment_ids", String.class)
+        );
+    }
+
+    private static TrackDetailsView toDetailsView(Tuple row) {
+        return new TrackDetailsView(
+                row.get("track_id", UUID.class),
+                row.get("owner_id", UUID.class),
+                row.get("is_global", Boolean.class),
+                row.get("title", String.class),
+                timestamp(row.get("created_at")),
+                timestamp(row.get("updated_at")),
+                row.get("bean_id", UUID.class),
+                row.get("bean_name", String.class),
+                row.get("roaster", String.class),
+                row.get("origin", String.class),
+                row.get("process", String.class),
+                row.get("notes", String.class),
+                row.get("method_id", UUID.class),
+                row.get("method_name", String.class),
+                row.get("version_id", UUID.class),
+                row.get("version_number", Integer.class),
+                row.get("is_current", Boolean.class),
+                row.get("coffee_amount", String.class),
+                row.get("water_amount", String.class),
+                row.get("grind_size", Integer.class),
+                row.get("brew_time_seconds", Integer.class),
+                row.get("water_temperature_celsius", Integer.class),
+                row.get("rating", Integer.class),
+                row.get("method_payload", String.class),
+                timestamp(row.get("version_updated_at")),
+                row.get("favorite", Boolean.class),
+                json(row.get("water_pours", String.class), POURS),
+                json(row.get("equipment_ids", String.class), IDS)
+        );
+    }
+
+    private static LocalDateTime timestamp(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private static <T> T json(String value, TypeReference<T> type) {
+        try {
+            return JSON.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable recipe detail aggregate.", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import com.example.coffeenotes.domain.catalog.Favorite;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipment;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeVersion;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+// Building blocks for the recipe list query; callers add only the filters that are actually present,
+// so each filter combination yields its own small SQL shape instead of one catch-all statement.
+public final class RecipeTrackSpecifications {
+
+    public static final Sort LIST_ORDER = Sort.by(Sort.Order.desc("updatedAt"), Sort.Order.desc("id"));
+
+    // In-memory LIST_ORDER for merging pages; PostgreSQL compares uuids byte by byte, i.e. unsigned.
+    public static final Comparator<TrackSummaryView> LIST_ORDER_COMPARATOR = Comparator
+            .comparing(TrackSummaryView::updatedAt, Comparator.reverseOrder())
+            .thenComparing(TrackSummaryView::trackId, (a, b) -> {
+                int high = Long.compareUnsigned(b.getMostSignificantBits(), a.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(b.getLeastSignificantBits(), a.getLeastSignificantBits());
+            });
+
+    private RecipeTrackSpecifications() {}
+
+    public static Specification<RecipeTrack> visibleTo(UUID userId) {
+        return (t, query, cb) -> cb.and(
+                cb.isNull(t.get("deletedAt")),
+                cb.or(cb.equal(t.get("owner").get("id"), userId), cb.isTrue(t.get("isGlobal")))
+        );
+    }
+
+    public static Specification<RecipeTrack> sharedTracks() {
+        return (t, query, cb) -> cb.and(cb.isNull(t.get("deletedAt")), cb.isTrue(t.get("isGlobal")));
+    }
+
+    public static Specification<RecipeTrack> privateTracksOf(UUID userId) {
+        return (t, query, cb) -> cb.and(
+                cb.isNull(t.get("deletedAt")),
+                cb.equal(t.get("owner").get("id"), userId),
+                cb.isFalse(t.get("isGlobal"))
+        );
+    }
+
+    public static Specification<RecipeTrack> withMethod(UUID methodId) {
+        return (t, query, cb) -> cb.equal(t.get("method").get("id"), methodId);
+    }
+
+    public static Specification<RecipeTrack> withBean(UUID beanId) {
+        return (t, query, cb) -> cb.equal(t.get("bean").get("id"), beanId);
+    }
+
+    public static Specification<RecipeTrack> global(boolean isGlobal) {
+        return (t, query, cb) -> cb.equal(t.get("isGlobal"), isGlobal);
+    }
+
+    public static Specification<RecipeTrack> hasBean(boolean hasBean) {
+        return (t, query, cb) -> hasBean ? cb.isNotNull(t.get("bean")) : cb.isNull(t.get("bean"));
+    }
+
+    public static Specification<RecipeTrack> favoriteOf(UUID userId) {
+        return (t, query, cb) -> {
+            Subquery<Integer> favorite = query.subquery(Integer.class);
+            Root<Favorite> f = favorite.from(Favorite.class);
+            favorite.select(cb.literal(1)).where(
+                    cb.equal(f.get("recipeTrack"), t),
+                    cb.equal(f.get("user").get("id"), userId)
+            );
+            return cb.exists(favorite);
+        };
+    }
+
+    // Filters read the current-version columns kept on recipe_tracks; only equipment still needs the version rows.
+    public static Specification<RecipeTrack> currentVersionMatching(Integer ratingMin, Integer ratingMax,
+                                                                     Integer brewTimeMinSeconds, Integer brewTimeMaxSeconds,
+                                                                     LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                                                                     UUID equipmentId) {
+        return (t, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isNotNull(t.get("currentVersionNumber")));
+            if (ratingMin != null) {
+                predicates.add(cb.greaterThanOrEqualTo(t.<Integer>get("currentRating"), ratingMin));
+            }
+            if (ratingMax != null) {
+                predicates.add(cb.lessThanOrEqualTo(t.<Integer>get("currentRating"), ratingMax));
+            }
+            if (brewTimeMinSeconds != null) {
+                predicates.add(cb.greaterThanOrEqualTo(t.<Integer>get("currentBrewTimeSeconds"), brewTimeMinSeconds));
+            }
+            if (brewTimeMaxSeconds != null) {
+                predicates.add(cb.lessThanOrEqualTo(t.<Integer>get("currentBrewTimeSeconds"), brewTimeMaxSeconds));
+            }
+            if (updatedFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(t.<LocalDateTime>get("currentVersionUpdatedAt"), updatedFrom));
+            }
+            if (updatedTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(t.<LocalDateTime>get("currentVersionUpdatedAt"), updatedTo));
+            }
+            if (equipmentId != null) {
+                Subquery<Integer> equipment = query.subquery(Integer.class);
+                Root<RecipeEquipment> re = equipment.from(RecipeEquipment.class);
+                Join<RecipeEquipment, RecipeVersion> v = re.join("recipeVersion");
+                equipment.select(cb.literal(1)).where(
+                        cb.equal(v.get("track"), t),
+                        cb.isTrue(v.get("isCurrent")),
+                        cb.isNull(v.get("deletedAt")),
+                        cb.equal(re.get("equipment").get("id"), equipmentId)
+                );
+                predicates.add(cb.exists(equipment));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<RecipeTrack> textMatches(String lowerCasePattern) {
+        return (t, query, cb) -> cb.like(t.get("searchDocument"), lowerCasePattern);
+    }
+
+    // Orders by trigram word similarity to the search term, newest first among ties; offset pagination only.
+    public static Specification<RecipeTrack> rankedBy(String lowerCaseTerm) {
+        return (t, query, cb) -> {
+            query.orderBy(
+                    cb.desc(cb.function("word_similarity", Double.class, cb.literal(lowerCaseTerm), t.get("searchDocument"))),
+                    cb.desc(t.get("updatedAt")),
+                    cb.desc(t.get("id"))
+            );
+            return null;
+        };
+    }
+
+    public static Specification<RecipeTrack> after(LocalDateTime updatedAt, UUID trackId) {
+        return (t, query, cb) -> cb.or(
+                cb.lessThan(t.<LocalDateTime>get("updatedAt"), updatedAt),
+                cb.and(cb.equal(t.get("updatedAt"), updatedAt), cb.lessThan(t.<UUID>get("id"), trackId))
+        );
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.coffeenotes.feature.catalog.repository.recipe;
 
 import com.example.coffeenotes.domain.catalog.recipe.RecipeVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -23,4 +28,35 @@ public interface RecipeVersionRepository extends JpaRepository<RecipeVersion, UU
 
     List<RecipeVersion>
     findByTrack_IdIn(Collection<UUID> trackIds);
-}
\ No newline at end of file
+
+    // Ids of every version, live or soft-deleted, of the owner's tracks; used to purge an account batch by batch.
+    @Query("SELECT v.id FROM RecipeVersion v WHERE v.track.owner.id = :ownerId")
+    List<UUID> findIdsByOwner(@Param("ownerId") UUID ownerId, Limit limit);
+
+    // Ids of every version of tracks soft-deleted before the cutoff; the retention job purges them batch by batch.
+    @Query("SELECT v.id FROM RecipeVersion v WHERE v.track.deletedAt < :cutoff")
+    List<UUID> findIdsOfTracksDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Tombstones every live version of the track in one statement. Clears the persistence context afterwards so
+    // versions already loaded in the transaction are not served stale.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RecipeVersion v SET v.deletedAt = :deletedAt, v.updatedAt = :deletedAt, v.isCurrent = false " +
+            "WHERE v.track.id = :trackId AND v.deletedAt IS NULL")
+    int softDeleteByTrackId(@Param("trackId") UUID trackId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Live versions newest first; walks recipe_versions_track_version_uk backwards.
+    @Query("SELECT new com.example.coffeenotes.feature.catalog.repository.recipe.VersionHistoryView(" +
+            "v.id, v.versionNumber, v.isCurrent, v.title, v.rating, v.createdAt, v.updatedAt) " +
+            "FROM RecipeVersion v WHERE v.track.id = :trackId AND v.deletedAt IS NULL " +
+            "ORDER BY v.versionNumber DESC")
+    List<VersionHistoryView> findHistory(@Param("trackId") UUID trackId, Limit limit);
+
+    // The same walk started just below beforeVersion, for the pages after the first.
+    @Query("SELECT new com.example.coffeenotes.feature.catalog.repository.recipe.VersionHistoryView(" +
+            "v.id, v.versionNumber, v.isCurrent, v.title, v.rating, v.createdAt, v.updatedAt) " +
+            "FROM RecipeVersion v WHERE v.track.id = :trackId AND v.deletedAt IS NULL " +
+            "AND v.versionNumber < :beforeVersion " +
+            "ORDER BY v.versionNumber DESC")
+    List<VersionHistoryView> findHistoryBefore(@Param("trackId") UUID trackId, @Param("beforeVersion") int beforeVersion,
+                                               Limit limit);
+}
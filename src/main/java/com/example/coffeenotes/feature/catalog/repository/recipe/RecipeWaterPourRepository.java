@@ -2,6 +2,9 @@ package com.example.coffeenotes.feature.catalog.repository.recipe;
 
 import com.example.coffeenotes.domain.catalog.recipe.RecipeWaterPour;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -14,4 +17,18 @@ public interface RecipeWaterPourRepository extends JpaRepository<RecipeWaterPour
     void deleteByRecipeVersion_Id(UUID recipeVersionId);
 
     void deleteByRecipeVersion_IdIn(Collection<UUID> recipeVersionIds);
+
+    // One DELETE statement, without loading the pours first.
+    @Modifying
+    @Query("DELETE FROM RecipeWaterPour p WHERE p.recipeVersion.id IN :recipeVersionIds")
+    int bulkDeleteByRecipeVersionIds(@Param("recipeVersionIds") Collection<UUID> recipeVersionIds);
+
+    @Modifying
+    @Query(
+            value = "INSERT INTO coffeenotes.recipe_water_pours (id, recipe_version_id, water_amount_ml, time, order_index) " +
+                    "SELECT gen_random_uuid(), :targetVersionId, p.water_amount_ml, p.time, p.order_index " +
+                    "FROM coffeenotes.recipe_water_pours p WHERE p.recipe_version_id = :sourceVersionId",
+            nativeQuery = true
+    )
+    int copyToVersion(@Param("sourceVersionId") UUID sourceVersionId, @Param("targetVersionId") UUID targetVersionId);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.util.UUID;
+
+public record TrackBeanMethod(
+        UUID beanId,
+        UUID methodId
+) {
+}
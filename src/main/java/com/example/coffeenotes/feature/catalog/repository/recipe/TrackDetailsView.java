@@ -0,0 +1,42 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Read-only detail row for one track: track, bean, method, current version, its pours and equipment, and the
+// viewer's favorite flag. Version columns are null when the track has no current version.
+public record TrackDetailsView(
+        UUID trackId,
+        UUID ownerId,
+        boolean isGlobal,
+        String title,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID beanId,
+        String beanName,
+        String roaster,
+        String origin,
+        String process,
+        String notes,
+        UUID methodId,
+        String methodName,
+        UUID versionId,
+        Integer versionNumber,
+        boolean isCurrent,
+        String coffeeAmount,
+        String waterAmount,
+        Integer grindSize,
+        Integer brewTimeSeconds,
+        Integer waterTemperatureCelsius,
+        Integer rating,
+        String methodPayload,
+        LocalDateTime versionUpdatedAt,
+        boolean favorite,
+        List<Pour> waterPours,
+        List<UUID> equipmentIds
+) {
+
+    public record Pour(Integer waterAmountMl, String time, Integer orderIndex) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Read-only row for recipe listings: exactly the columns TrackSummaryResponseDTO needs, selected in one query.
+public record TrackSummaryView(
+        UUID trackId,
+        UUID beanId,
+        String beanName,
+        UUID methodId,
+        String methodName,
+        String title,
+        boolean isGlobal,
+        Integer currentVersionNumber,
+        Integer currentRating,
+        LocalDateTime currentVersionUpdatedAt,
+        LocalDateTime updatedAt
+) {
+}
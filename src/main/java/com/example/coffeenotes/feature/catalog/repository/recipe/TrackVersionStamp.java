@@ -0,0 +1,17 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Just enough of a track to check visibility and tell whether its detail or history changed since a previous read.
+// The method name is included because a method rename changes the detail without touching the track.
+public record TrackVersionStamp(
+        UUID ownerId,
+        boolean isGlobal,
+        LocalDateTime updatedAt,
+        String methodName,
+        UUID currentVersionId,
+        LocalDateTime currentVersionUpdatedAt,
+        boolean favorite
+) {
+}
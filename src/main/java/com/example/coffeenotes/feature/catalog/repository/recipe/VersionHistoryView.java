@@ -0,0 +1,16 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Read-only row for version history: the columns VersionHistoryItemDTO needs, without the method payload.
+public record VersionHistoryView(
+        UUID versionId,
+        Integer versionNumber,
+        boolean isCurrent,
+        String title,
+        Integer rating,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,24 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import java.util.List;
+import java.util.UUID;
+
+// One version of a track with its pours and equipment, plus the track columns needed for the visibility check.
+// Version columns are null on the single row returned when none of the requested versions exist.
+public record VersionSnapshotView(
+        UUID ownerId,
+        boolean isGlobal,
+        UUID versionId,
+        Integer versionNumber,
+        String title,
+        String coffeeAmount,
+        String waterAmount,
+        Integer grindSize,
+        Integer brewTimeSeconds,
+        Integer waterTemperatureCelsius,
+        Integer rating,
+        String methodPayload,
+        List<TrackDetailsView.Pour> waterPours,
+        List<UUID> equipmentIds
+) {
+}
@@ -0,0 +1,304 @@
+package com.example.coffeenotes.feature.catalog.search;
+
+import com.example.coffeenotes.api.dto.recipe.RecipeSuggestionDTO;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Optional in-memory token index over live recipe tracks for typeahead. Postings are bitsets over track ordinals;
+// ordinals freed by updates and removals are handed out again, so the index stays as wide as the number of live
+// tracks it has ever held at once. Disabled unless app.search.in-memory-index.enabled.
+@Component
+public class RecipeSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::updatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::trackId, Comparator.reverseOrder());
+
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final Executor rebuildExecutor;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<UUID, Integer> ordinalsByTrackId = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+    private final BitSet globalTracks = new BitSet();
+    private final Map<UUID, BitSet> tracksByOwner = new HashMap<>();
+    private final Object rebuildMonitor = new Object();
+    private List<Runnable> changesDuringRebuild;
+    private volatile boolean ready;
+
+    public RecipeSearchIndex(RecipeTrackRepository recipeTrackRepository,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                             Executor rebuildExecutor,
+                             @Value("${app.search.in-memory-index.enabled:false}") boolean enabled) {
+        this.recipeTrackRepository = recipeTrackRepository;
+        this.rebuildExecutor = rebuildExecutor;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildMonitor) {
+            // Changes that commit while the tracks load may be missing from the snapshot; record them and replay
+            // them, in commit order, on top of it.
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            List<Entry> loaded;
+            try {
+                loaded = recipeTrackRepository.findAllByDeletedAtIsNull().stream()
+                        .map(RecipeSearchIndex::entryOf)
+                        .toList();
+            } catch (RuntimeException e) {
+                stopRecordingChanges();
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                reset();
+                loaded.forEach(this::add);
+                changesDuringRebuild.forEach(Runnable::run);
+                changesDuringRebuild = null;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Reloading every track is too slow for the committing request; the old contents keep serving meanwhile.
+    public void rebuildAfterCommit() {
+        if (enabled) {
+            afterCommit(() -> rebuildExecutor.execute(this::rebuild));
+        }
+    }
+
+    public void index(RecipeTrack track) {
+        if (!enabled) {
+            return;
+        }
+        Entry draft = entryOf(track);
+        // updated_at is stamped when the transaction flushes, so read it back once it has committed.
+        afterCommit(() -> apply(() -> {
+            unindex(draft.trackId());
+            add(draft.withUpdatedAt(track.getUpdatedAt()));
+        }));
+    }
+
+    public void remove(RecipeTrack track) {
+        if (!enabled) {
+            return;
+        }
+        UUID trackId = track.getId();
+        afterCommit(() -> apply(() -> unindex(trackId)));
+    }
+
+    public void removeAll(Collection<UUID> trackIds) {
+        if (!enabled || trackIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(trackIds);
+        afterCommit(() -> apply(() -> ids.forEach(this::unindex)));
+    }
+
+    // Every query token must prefix some token of the track; results are newest first.
+    public List<RecipeSuggestionDTO> suggest(UUID userId, String query, int limit) {
+        List<String> prefixes = tokenize(query);
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = new BitSet();
+            matches.or(globalTracks);
+            BitSet own = tracksByOwner.get(userId);
+            if (own != null) {
+                matches.or(own);
+            }
+            for (String prefix : prefixes) {
+                BitSet prefixMatches = new BitSet();
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(prefixMatches::or);
+                matches.and(prefixMatches);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return newest(matches, limit).stream()
+                    .map(e -> new RecipeSuggestionDTO(e.trackId(), e.title(), e.methodName(), e.global(), e.updatedAt()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps only the best `limit` matches while scanning, oldest of them on top, so a short prefix matching most of
+    // the index costs no full sort.
+    private List<Entry> newest(BitSet matches, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, NEWEST_FIRST.reversed());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            top.offer(entries.get(ordinal));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Entry> newest = new ArrayList<>(top);
+        newest.sort(NEWEST_FIRST);
+        return newest;
+    }
+
+    // Number of ordinals handed out so far, live or free.
+    int ordinalCapacity() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopRecordingChanges() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reset() {
+        entries.clear();
+        ordinalsByTrackId.clear();
+        freeOrdinals.clear();
+        postings.clear();
+        globalTracks.clear();
+        tracksByOwner.clear();
+    }
+
+    private void add(Entry entry) {
+        Integer free = freeOrdinals.poll();
+        int ordinal;
+        if (free != null) {
+            ordinal = free;
+            entries.set(ordinal, entry);
+        } else {
+            ordinal = entries.size();
+            entries.add(entry);
+        }
+        ordinalsByTrackId.put(entry.trackId(), ordinal);
+        for (String token : entry.tokens()) {
+            postings.computeIfAbsent(token, t -> new BitSet()).set(ordinal);
+        }
+        if (entry.global()) {
+            globalTracks.set(ordinal);
+        }
+        tracksByOwner.computeIfAbsent(entry.ownerId(), o -> new BitSet()).set(ordinal);
+    }
+
+    private void unindex(UUID trackId) {
+        Integer ordinal = ordinalsByTrackId.remove(trackId);
+        if (ordinal == null) {
+            return;
+        }
+        Entry entry = entries.get(ordinal);
+        for (String token : entry.tokens()) {
+            BitSet posting = postings.get(token);
+            if (posting != null) {
+                posting.clear(ordinal);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        globalTracks.clear(ordinal);
+        BitSet own = tracksByOwner.get(entry.ownerId());
+        if (own != null) {
+            own.clear(ordinal);
+        }
+        entries.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    private static Entry entryOf(RecipeTrack track) {
+        return new Entry(
+                track.getId(),
+                track.getOwner().getId(),
+                track.isGlobal(),
+                track.getTitle(),
+                track.getMethod().getName(),
+                track.getUpdatedAt(),
+                new HashSet<>(tokenize(track.getSearchDocument()))
+        );
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(UUID trackId, UUID ownerId, boolean global, String title, String methodName,
+                         LocalDateTime updatedAt, Set<String> tokens) {
+
+        private Entry withUpdatedAt(LocalDateTime updatedAt) {
+            return new Entry(trackId, ownerId, global, title, methodName, updatedAt, tokens);
+        }
+    }
+}
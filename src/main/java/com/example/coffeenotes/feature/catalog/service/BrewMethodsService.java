@@ -3,9 +3,12 @@ package com.example.coffeenotes.feature.catalog.service;
 import com.example.coffeenotes.api.dto.catalog.BrewMethodsDTO;
 import com.example.coffeenotes.domain.catalog.BrewMethods;
 import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -15,6 +18,10 @@ import java.util.UUID;
 @AllArgsConstructor
 public class BrewMethodsService {
     private final BrewMethodsRepository brewMethodsRepository;
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final GlobalRecipeListingCache globalRecipeListingCache;
+    private final RecipeDetailsCache recipeDetailsCache;
 
     public List<BrewMethods> listAllBrewMethods() {
         return brewMethodsRepository.findAll();
@@ -35,6 +42,7 @@ public class BrewMethodsService {
         brewMethodsRepository.deleteById(id);
     }
 
+    @Transactional
     public BrewMethods update(UUID id, BrewMethodsDTO body){
         BrewMethods existing = brewMethodsRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "BrewMethods not found"));
@@ -53,7 +61,14 @@ public class BrewMethodsService {
             }
             existing.setDescription(body.getDescription());
         }
-        return brewMethodsRepository.save(existing);
+        BrewMethods saved = brewMethodsRepository.save(existing);
+        if(body.getName() != null) {
+            recipeTrackRepository.refreshSearchDocumentsForMethod(id);
+            recipeSearchIndex.rebuildAfterCommit();
+            globalRecipeListingCache.invalidate();
+            recipeDetailsCache.invalidateMethod(id);
+        }
+        return saved;
     }
 
 }
@@ -0,0 +1,16 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Opaque keyset position in a user's favorites, ordered by (favoritedAt DESC, trackId DESC).
+public record FavoriteListCursor(LocalDateTime favoritedAt, UUID trackId) {
+
+    public String encode() {
+        return KeysetCursor.encode(favoritedAt, trackId);
+    }
+
+    public static FavoriteListCursor decode(String token) {
+        return KeysetCursor.decode(token, FavoriteListCursor::new);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.FavoriteResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.TrackSummaryResponseDTO;
 import com.example.coffeenotes.domain.catalog.Favorite;
@@ -7,9 +8,11 @@ import com.example.coffeenotes.domain.catalog.FavoriteId;
 import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
 import com.example.coffeenotes.domain.user.User;
 import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
+import com.example.coffeenotes.feature.catalog.repository.FavoriteTrackView;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +25,8 @@ import java.util.UUID;
 @AllArgsConstructor
 
 public class FavoriteService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final FavoriteRepository favoriteRepository;
     private final RecipeTrackRepository recipeTrackRepository;
     private final UserRepository userRepository;
@@ -89,28 +94,49 @@ public class FavoriteService {
         return dto;
     }
 
-    public List<TrackSummaryResponseDTO> listFavoriteRecipes(UUID userId) {
+    // Newest favorites first, one page at a time; visibility is checked in the query and the page is read from a
+    // single projection, so no track or user entities are loaded.
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<TrackSummaryResponseDTO> listFavoriteRecipes(UUID userId, int size, String after) {
         if(userId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required fields missing.");
         }
-        return favoriteRepository.findByUser_Id(userId).stream()
-                .map(Favorite::getRecipeTrack)
-                .filter(track -> track.getDeletedAt() == null)
-                .filter(track -> track.isGlobal() || track.getOwner().getId().equals(userId))
-                .map(track -> {
-                    TrackSummaryResponseDTO dto = toTrackSummaryResponseDTO(track);
-                    dto.setFavorite(true);
-                    return dto;
-                })
-                .toList();
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        FavoriteListCursor cursor = FavoriteListCursor.decode(after);
+
+        List<FavoriteTrackView> rows = cursor == null
+                ? favoriteRepository.findFavoriteTracks(userId, Limit.of(size + 1))
+                : favoriteRepository.findFavoriteTracksAfter(userId, cursor.favoritedAt(), cursor.trackId(), Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<FavoriteTrackView> page = hasNext ? rows.subList(0, size) : rows;
+
+        PagedResponseDTO<TrackSummaryResponseDTO> response = new PagedResponseDTO<>();
+        response.setItems(page.stream().map(FavoriteService::toTrackSummaryResponseDTO).toList());
+        response.setSize(size);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(cursor != null);
+        if (hasNext) {
+            FavoriteTrackView last = page.get(page.size() - 1);
+            response.setNextCursor(new FavoriteListCursor(last.favoritedAt(), last.trackId()).encode());
+        }
+        return response;
     }
 
-    private TrackSummaryResponseDTO toTrackSummaryResponseDTO(RecipeTrack track) {
+    private static TrackSummaryResponseDTO toTrackSummaryResponseDTO(FavoriteTrackView row) {
         TrackSummaryResponseDTO dto = new TrackSummaryResponseDTO();
-        dto.setTrackId(track.getId());
-        dto.setTitle(track.getTitle());
-        dto.setGlobal(track.isGlobal());
-        dto.setUpdatedAt(track.getUpdatedAt());
+        dto.setTrackId(row.trackId());
+        dto.setBeanId(row.beanId());
+        dto.setBeanName(row.beanName());
+        dto.setMethodId(row.methodId());
+        dto.setMethodName(row.methodName());
+        dto.setTitle(row.title());
+        dto.setGlobal(row.isGlobal());
+        dto.setFavorite(true);
+        dto.setCurrentVersionNumber(row.currentVersionNumber());
+        dto.setRating(row.currentRating());
+        dto.setUpdatedAt(row.currentVersionUpdatedAt());
         return dto;
     }
 }
@@ -0,0 +1,89 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackSummaryView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Global tracks read the same for every viewer, so their listing pages are shared across users; favorite flags are
+// applied per viewer afterwards. Any write to a global track drops every entry, again once its transaction completes.
+@Component
+public class GlobalRecipeListingCache {
+
+    public static final String CACHE_NAME = "recipes.global-listings";
+
+    private final boolean enabled;
+    private final Cache<Key, Listing> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GlobalRecipeListingCache(MeterRegistry meterRegistry,
+                                    @Value("${app.cache.global-listings.enabled:true}") boolean enabled,
+                                    @Value("${app.cache.global-listings.maximum-size:1000}") long maximumSize,
+                                    @Value("${app.cache.global-listings.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Listing get(Key key, Supplier<Listing> loader) {
+        Listing cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        Listing loaded = loader.get();
+        cache.put(key, loaded);
+        // A write that landed while loading may not be reflected in the rows.
+        if (generation.get() != observed) {
+            cache.invalidate(key);
+        }
+        return loaded;
+    }
+
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // Normalized list request restricted to global tracks: isGlobal and favoritesOnly never reach the key.
+    public record Key(UUID methodId, UUID beanId, UUID equipmentId, Boolean hasBean,
+                      Integer ratingMin, Integer ratingMax, Integer brewTimeMinSeconds, Integer brewTimeMaxSeconds,
+                      LocalDateTime updatedFrom, LocalDateTime updatedTo, String searchTerm, boolean rankByRelevance,
+                      RecipeListCursor after, long offset, int limit, boolean withTotal) {
+    }
+
+    public record Listing(List<TrackSummaryView> rows, Long total) {
+    }
+}
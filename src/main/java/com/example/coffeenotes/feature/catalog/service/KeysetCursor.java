@@ -0,0 +1,46 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+// Shared token format of the (timestamp DESC, id DESC) keyset cursors: URL-safe Base64 of "timestamp|id".
+final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    static String encode(LocalDateTime timestamp, UUID id) {
+        // PostgreSQL timestamps keep microseconds, so the cursor must not carry more precision than the column.
+        String raw = timestamp.truncatedTo(ChronoUnit.MICROS) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null for a missing token; 400 for one that does not decode.
+    static <T> T decode(String token, BiFunction<LocalDateTime, UUID, T> cursor) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+            }
+            LocalDateTime timestamp = LocalDateTime.parse(raw.substring(0, separatorIndex));
+            UUID id = UUID.fromString(raw.substring(separatorIndex + 1));
+            return cursor.apply(timestamp, id);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackDetailsView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Assembled recipe details, one entry per track, valid only for the current version it was loaded for: a new version
+// simply misses. The stored favorite flag belongs to whoever loaded the entry, so callers overlay their own. Edits
+// that change a detail without creating a version (method rename, track delete, account deletion) evict matching
+// entries, again once their transaction completes.
+@Component
+public class RecipeDetailsCache {
+
+    public static final String CACHE_NAME = "recipes.details";
+
+    private final boolean enabled;
+    private final Cache<UUID, TrackDetailsView> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public RecipeDetailsCache(MeterRegistry meterRegistry,
+                              @Value("${app.cache.recipe-details.enabled:true}") boolean enabled,
+                              @Value("${app.cache.recipe-details.maximum-size:10000}") long maximumSize,
+                              @Value("${app.cache.recipe-details.ttl:PT30M}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns null when the loader finds nothing; a loaded row for another version is returned but not kept.
+    public TrackDetailsView get(UUID trackId, UUID currentVersionId, Supplier<TrackDetailsView> loader) {
+        TrackDetailsView cached = cache.getIfPresent(trackId);
+        if (cached != null && currentVersionId.equals(cached.versionId())) {
+            return cached;
+        }
+        long observed = generation.get();
+        TrackDetailsView loaded = loader.get();
+        if (loaded == null || !currentVersionId.equals(loaded.versionId())) {
+            return loaded;
+        }
+        cache.put(trackId, loaded);
+        if (generation.get() != observed) {
+            cache.invalidate(trackId);
+        }
+        return loaded;
+    }
+
+    public void invalidateTrack(UUID trackId) {
+        invalidate(() -> cache.invalidate(trackId));
+    }
+
+    public void invalidateMethod(UUID methodId) {
+        invalidateMatching(details -> methodId.equals(details.methodId()));
+    }
+
+    public void invalidateOwner(UUID ownerId, Collection<UUID> beanIds) {
+        Set<UUID> beans = Set.copyOf(beanIds);
+        invalidateMatching(details -> ownerId.equals(details.ownerId())
+                || (details.beanId() != null && beans.contains(details.beanId())));
+    }
+
+    private void invalidateMatching(Predicate<TrackDetailsView> matching) {
+        invalidate(() -> cache.asMap().values().removeIf(matching));
+    }
+
+    private void invalidate(Runnable eviction) {
+        evict(eviction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(eviction);
+                }
+            });
+        }
+    }
+
+    private void evict(Runnable eviction) {
+        generation.incrementAndGet();
+        eviction.run();
+    }
+}
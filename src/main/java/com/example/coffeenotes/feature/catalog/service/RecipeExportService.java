@@ -0,0 +1,115 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeExportRow;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Writes every live track of a user with its full version history, one JSON object per track, as rows arrive from
+// the export cursor. Only the current row is held, so memory stays flat however long the history is.
+@Service
+@AllArgsConstructor
+public class RecipeExportService {
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final ObjectMapper objectMapper;
+
+    // jsonArray wraps the tracks in one JSON array; otherwise each track is its own line (NDJSON). The stream is
+    // flushed but not closed.
+    @Transactional(readOnly = true)
+    public void exportRecipes(UUID userId, boolean jsonArray, OutputStream out) throws IOException {
+        if (userId == null || out == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId and output must not be null.");
+        }
+        try (JsonGenerator generator = objectMapper.createGenerator(out);
+             Stream<RecipeExportRow> rows = recipeTrackRepository.streamExport(userId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (jsonArray) {
+                generator.writeStartArray();
+            }
+            UUID currentTrackId = null;
+            Iterator<RecipeExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                RecipeExportRow row = iterator.next();
+                if (!row.trackId().equals(currentTrackId)) {
+                    if (currentTrackId != null) {
+                        endTrack(generator, jsonArray);
+                    }
+                    startTrack(generator, row);
+                    currentTrackId = row.trackId();
+                }
+                if (row.versionId() != null) {
+                    writeVersion(generator, row);
+                }
+            }
+            if (currentTrackId != null) {
+                endTrack(generator, jsonArray);
+            }
+            if (jsonArray) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private static void startTrack(JsonGenerator generator, RecipeExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("trackId", row.trackId().toString());
+        generator.writeStringField("beanId", row.beanId() != null ? row.beanId().toString() : null);
+        generator.writeStringField("beanName", row.beanName());
+        generator.writeStringField("methodId", row.methodId().toString());
+        generator.writeStringField("methodName", row.methodName());
+        generator.writeStringField("title", row.trackTitle());
+        generator.writeBooleanField("global", row.isGlobal());
+        writeTimestamp(generator, "createdAt", row.trackCreatedAt());
+        writeTimestamp(generator, "updatedAt", row.trackUpdatedAt());
+        generator.writeArrayFieldStart("versions");
+    }
+
+    private static void writeVersion(JsonGenerator generator, RecipeExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("versionId", row.versionId().toString());
+        generator.writeNumberField("versionNumber", row.versionNumber());
+        generator.writeBooleanField("current", row.isCurrent());
+        generator.writeStringField("title", row.versionTitle());
+        generator.writeStringField("coffeeAmount", row.coffeeAmount());
+        generator.writeStringField("waterAmount", row.waterAmount());
+        generator.writeObjectField("grindSize", row.grindSize());
+        generator.writeObjectField("brewTimeSeconds", row.brewTimeSeconds());
+        generator.writeObjectField("waterTemperatureCelsius", row.waterTemperatureCelsius());
+        generator.writeObjectField("rating", row.rating());
+        generator.writeFieldName("methodPayload");
+        generator.writeRawValue(row.methodPayload());
+        generator.writeFieldName("waterPours");
+        generator.writeRawValue(row.waterPoursJson());
+        generator.writeFieldName("equipmentIds");
+        generator.writeRawValue(row.equipmentIdsJson());
+        writeTimestamp(generator, "createdAt", row.versionCreatedAt());
+        writeTimestamp(generator, "updatedAt", row.versionUpdatedAt());
+        generator.writeEndObject();
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        generator.writeStringField(field, value != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) : null);
+    }
+
+    private static void endTrack(JsonGenerator generator, boolean jsonArray) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        if (!jsonArray) {
+            generator.writeRaw('\n');
+        }
+    }
+}
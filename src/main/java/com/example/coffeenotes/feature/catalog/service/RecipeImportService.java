@@ -0,0 +1,350 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.RecipeImportErrorDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeImportItemDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeImportResultDTO;
+import com.example.coffeenotes.api.dto.recipe.WaterPourDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipment;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipmentId;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeVersion;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeWaterPour;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadStrategyRegistry;
+import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
+import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackBeanMethod;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
+import com.example.coffeenotes.feature.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk import of recipe tracks from a JSON array or NDJSON body. Rows are read one at a time from the stream and
+// written in chunks, each in its own transaction, so a large notebook never sits in memory and a bad row only costs
+// itself. Every row gets the same checks as createRecipe plus the version fields of updateRecipe.
+@Service
+public class RecipeImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserRepository userRepository;
+    private final BrewMethodsRepository brewMethodsRepository;
+    private final CoffeeBeanRepository coffeeBeanRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final RecipeVersionRepository recipeVersionRepository;
+    private final RecipeWaterPourRepository recipeWaterPourRepository;
+    private final RecipeEquipmentRepository recipeEquipmentRepository;
+    private final MethodPayloadStrategyRegistry methodPayloadStrategyRegistry;
+    private final ObjectMapper objectMapper;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final GlobalRecipeListingCache globalRecipeListingCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public RecipeImportService(UserRepository userRepository,
+                               BrewMethodsRepository brewMethodsRepository,
+                               CoffeeBeanRepository coffeeBeanRepository,
+                               EquipmentRepository equipmentRepository,
+                               RecipeTrackRepository recipeTrackRepository,
+                               RecipeVersionRepository recipeVersionRepository,
+                               RecipeWaterPourRepository recipeWaterPourRepository,
+                               RecipeEquipmentRepository recipeEquipmentRepository,
+                               MethodPayloadStrategyRegistry methodPayloadStrategyRegistry,
+                               ObjectMapper objectMapper,
+                               RecipeSearchIndex recipeSearchIndex,
+                               GlobalRecipeListingCache globalRecipeListingCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.recipe-import.chunk-size:200}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("app.recipe-import.chunk-size must be at least 1");
+        }
+        this.userRepository = userRepository;
+        this.brewMethodsRepository = brewMethodsRepository;
+        this.coffeeBeanRepository = coffeeBeanRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.recipeTrackRepository = recipeTrackRepository;
+        this.recipeVersionRepository = recipeVersionRepository;
+        this.recipeWaterPourRepository = recipeWaterPourRepository;
+        this.recipeEquipmentRepository = recipeEquipmentRepository;
+        this.methodPayloadStrategyRegistry = methodPayloadStrategyRegistry;
+        this.objectMapper = objectMapper;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.globalRecipeListingCache = globalRecipeListingCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // Rows are numbered from 1 in input order. A body that stops being valid JSON ends the import at that row; rows
+    // read before it are still imported.
+    public RecipeImportResultDTO importRecipes(UUID userId, InputStream body) {
+        if (userId == null || body == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId and body must not be null.");
+        }
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        boolean admin = owner.getRole() == Role.ADMIN;
+
+        RecipeImportResultDTO result = new RecipeImportResultDTO();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                JsonNode node = objectMapper.readTree(parser);
+                row++;
+                RecipeImportItemDTO item = readItem(node, row, result);
+                if (item != null) {
+                    chunk.add(new ImportRow(row, item));
+                    if (chunk.size() == chunkSize) {
+                        importChunk(userId, admin, chunk, result);
+                        chunk.clear();
+                    }
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            reject(result, row + 1, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            reject(result, row + 1, "Import body could not be read.");
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(userId, admin, chunk, result);
+        }
+        result.getErrors().sort(Comparator.comparingInt(RecipeImportErrorDTO::getRow));
+        return result;
+    }
+
+    private RecipeImportItemDTO readItem(JsonNode node, int row, RecipeImportResultDTO result) {
+        if (node == null || !node.isObject()) {
+            reject(result, row, "Row must be a JSON object.");
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(node, RecipeImportItemDTO.class);
+        } catch (JsonProcessingException e) {
+            reject(result, row, "Invalid row: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    // A chunk that fails to write (a constraint hit by a concurrent insert, say) is rolled back on its own and its
+    // rows are reported; chunks already committed stay, and the import carries on with the next one.
+    private void importChunk(UUID userId, boolean admin, List<ImportRow> rows, RecipeImportResultDTO result) {
+        List<RecipeImportErrorDTO> rejected = new ArrayList<>();
+        Integer imported;
+        try {
+            imported = transactionTemplate.execute(status -> writeChunk(userId, admin, rows, rejected));
+        } catch (RuntimeException e) {
+            Set<Integer> rejectedRows = rejected.stream().map(RecipeImportErrorDTO::getRow).collect(Collectors.toSet());
+            rows.stream()
+                    .filter(row -> !rejectedRows.contains(row.row()))
+                    .forEach(row -> reject(result, row.row(), "Row could not be saved; its chunk was rolled back."));
+            imported = 0;
+        }
+        result.setImported(result.getImported() + (imported != null ? imported : 0));
+        rejected.forEach(error -> reject(result, error.getRow(), error.getMessage()));
+    }
+
+    // Looks up everything the chunk references in one query per table, then writes the valid rows as batched inserts.
+    private int writeChunk(UUID userId, boolean admin, List<ImportRow> rows, List<RecipeImportErrorDTO> rejected) {
+        Map<UUID, BrewMethods> methods = byId(brewMethodsRepository.findAllById(collectIds(rows, item ->
+                item.getMethodId() != null ? List.of(item.getMethodId()) : List.of())), BrewMethods::getId);
+        Map<UUID, CoffeeBean> beans = byId(coffeeBeanRepository.findAllById(collectIds(rows, item ->
+                item.getBeanId() != null ? List.of(item.getBeanId()) : List.of())), CoffeeBean::getId);
+        Map<UUID, Equipment> equipment = byId(equipmentRepository.findAllById(collectIds(rows, item ->
+                item.getEquipmentIds() != null ? item.getEquipmentIds() : List.of())), Equipment::getId);
+        Set<TrackBeanMethod> taken = beans.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(recipeTrackRepository.findLiveBeanMethods(userId, beans.keySet()));
+
+        User owner = userRepository.getReferenceById(userId);
+        List<RecipeTrack> tracks = new ArrayList<>();
+        List<RecipeVersion> versions = new ArrayList<>();
+        List<RecipeImportItemDTO> accepted = new ArrayList<>();
+        for (ImportRow row : rows) {
+            RecipeImportItemDTO item = row.item();
+            try {
+                RecipeVersion version = buildVersion(userId, admin, item, methods, beans, equipment, taken);
+                RecipeTrack track = version.getTrack();
+                track.setOwner(owner);
+                tracks.add(track);
+                versions.add(version);
+                accepted.add(item);
+            } catch (ResponseStatusException e) {
+                rejected.add(new RecipeImportErrorDTO(row.row(), e.getReason()));
+            }
+        }
+        if (tracks.isEmpty()) {
+            return 0;
+        }
+
+        recipeTrackRepository.saveAll(tracks);
+        recipeVersionRepository.saveAllAndFlush(versions);
+
+        List<RecipeWaterPour> pours = new ArrayList<>();
+        List<RecipeEquipment> equipmentRows = new ArrayList<>();
+        boolean global = false;
+        for (int i = 0; i < versions.size(); i++) {
+            RecipeVersion version = versions.get(i);
+            RecipeTrack track = tracks.get(i);
+            RecipeImportItemDTO item = accepted.get(i);
+            RecipeVersionService.syncCurrentVersion(track, version);
+            recipeSearchIndex.index(track);
+            global |= track.isGlobal();
+            if (item.getWaterPours() != null) {
+                for (WaterPourDTO p : item.getWaterPours()) {
+                    RecipeWaterPour pour = new RecipeWaterPour();
+                    pour.setRecipeVersion(version);
+                    pour.setWaterAmount(p.getWaterAmountMl());
+                    pour.setTime(p.getTime());
+                    pour.setOrderIndex(p.getOrderIndex());
+                    pours.add(pour);
+                }
+            }
+            if (item.getEquipmentIds() != null) {
+                for (UUID equipmentId : item.getEquipmentIds()) {
+                    RecipeEquipment row = new RecipeEquipment();
+                    row.setId(new RecipeEquipmentId(version.getId(), equipmentId));
+                    row.setRecipeVersion(version);
+                    row.setEquipment(equipment.get(equipmentId));
+                    equipmentRows.add(row);
+                }
+            }
+        }
+        recipeWaterPourRepository.saveAll(pours);
+        recipeEquipmentRepository.saveAll(equipmentRows);
+        if (global) {
+            globalRecipeListingCache.invalidate();
+        }
+        return tracks.size();
+    }
+
+    private RecipeVersion buildVersion(UUID userId, boolean admin, RecipeImportItemDTO item,
+                                       Map<UUID, BrewMethods> methods, Map<UUID, CoffeeBean> beans,
+                                       Map<UUID, Equipment> equipment, Set<TrackBeanMethod> taken) {
+        if (item.getMethodId() == null || item.getTitle() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There is a required field that is missing");
+        }
+        String title = item.getTitle().trim();
+        if (title.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title should not be blank");
+        }
+        RecipeVersionService.validateVersionFields(item.getRating(), item.getBrewTimeSeconds(),
+                item.getWaterTemperatureCelsius(), item.getGrindSize(), item.getWaterPours(), item.getEquipmentIds());
+        if (item.isGlobal() && !admin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can create global recipes.");
+        }
+        CoffeeBean bean = null;
+        if (item.getBeanId() != null) {
+            bean = beans.get(item.getBeanId());
+            if (bean == null || bean.getDeletedAt() != null
+                    || (!bean.getOwner().getId().equals(userId) && !bean.isGlobal())) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coffee bean not found");
+            }
+        }
+        BrewMethods method = methods.get(item.getMethodId());
+        if (method == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Method not found");
+        }
+        if (item.getEquipmentIds() != null) {
+            Set<UUID> missing = new LinkedHashSet<>(item.getEquipmentIds());
+            missing.removeAll(equipment.keySet());
+            if (!missing.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipment not found: " + missing);
+            }
+        }
+        String methodPayload = normalizePayload(method, item.getMethodPayload());
+        if (bean != null && !taken.add(new TrackBeanMethod(bean.getId(), method.getId()))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Track already exists for this bean and method");
+        }
+
+        RecipeTrack track = new RecipeTrack();
+        track.setBean(bean);
+        track.setMethod(method);
+        track.setTitle(title);
+        track.setGlobal(item.isGlobal());
+        track.setSearchDocument(RecipeVersionService.searchDocument(title, method, bean));
+
+        RecipeVersion version = new RecipeVersion();
+        version.setTrack(track);
+        version.setVersionNumber(1);
+        version.setCurrent(true);
+        version.setTitle(title);
+        version.setCoffeeAmount(item.getCoffeeAmount());
+        version.setWaterAmount(item.getWaterAmount());
+        version.setGrindSize(item.getGrindSize());
+        version.setBrewTimeSeconds(item.getBrewTimeSeconds());
+        version.setWaterTemperatureCelsius(item.getWaterTemperatureCelsius());
+        version.setRating(item.getRating());
+        version.setMethodPayload(methodPayload);
+        return version;
+    }
+
+    private String normalizePayload(BrewMethods method, JsonNode rawPayload) {
+        JsonNode payloadJson = rawPayload;
+        if (payloadJson == null || payloadJson.isNull() || (payloadJson.isTextual() && payloadJson.asText().isBlank())) {
+            payloadJson = objectMapper.createObjectNode();
+        } else if (payloadJson.isTextual()) {
+            try {
+                payloadJson = objectMapper.readTree(payloadJson.asText());
+            } catch (JsonProcessingException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid methodPayload JSON.");
+            }
+        }
+        JsonNode normalized = methodPayloadStrategyRegistry.getRequired(method.getName()).validateAndNormalize(payloadJson);
+        try {
+            return objectMapper.writeValueAsString(normalized);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize methodPayload JSON.", e);
+        }
+    }
+
+    private static void reject(RecipeImportResultDTO result, int row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new RecipeImportErrorDTO(row, message));
+        }
+    }
+
+    private static Set<UUID> collectIds(List<ImportRow> rows, Function<RecipeImportItemDTO, List<UUID>> ids) {
+        return rows.stream()
+                .flatMap(row -> ids.apply(row.item()).stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<UUID, T> byId(List<T> entities, Function<T, UUID> id) {
+        return entities.stream().collect(Collectors.toMap(id, entity -> entity));
+    }
+
+    private record ImportRow(int row, RecipeImportItemDTO item) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Opaque keyset position in the recipe list, ordered by (updatedAt DESC, id DESC).
+public record RecipeListCursor(LocalDateTime updatedAt, UUID trackId) {
+
+    public String encode() {
+        return KeysetCursor.encode(updatedAt, trackId);
+    }
+
+    public static RecipeListCursor decode(String token) {
+        return KeysetCursor.decode(token, RecipeListCursor::new);
+    }
+}
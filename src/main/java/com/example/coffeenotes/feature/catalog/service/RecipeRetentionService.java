@@ -0,0 +1,85 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Hard-deletes recipe tracks that have been soft-deleted for longer than the grace period, together with their
+// versions, pours, equipment rows and favorites. deleteRecipe already removed them from caches and the search
+// index, so only the rows are left. Batches are bounded and each runs in its own transaction.
+@Service
+public class RecipeRetentionService {
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final RecipeVersionRepository recipeVersionRepository;
+    private final RecipeWaterPourRepository recipeWaterPourRepository;
+    private final RecipeEquipmentRepository recipeEquipmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    public RecipeRetentionService(RecipeTrackRepository recipeTrackRepository,
+                                  RecipeVersionRepository recipeVersionRepository,
+                                  RecipeWaterPourRepository recipeWaterPourRepository,
+                                  RecipeEquipmentRepository recipeEquipmentRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.recipe-retention.grace-period:P30D}") Duration gracePeriod,
+                                  @Value("${app.recipe-retention.batch-size:500}") int batchSize) {
+        if (gracePeriod.isNegative() || batchSize < 1) {
+            throw new IllegalArgumentException("app.recipe-retention needs a non-negative grace-period and a batch-size of at least 1.");
+        }
+        this.recipeTrackRepository = recipeTrackRepository;
+        this.recipeVersionRepository = recipeVersionRepository;
+        this.recipeWaterPourRepository = recipeWaterPourRepository;
+        this.recipeEquipmentRepository = recipeEquipmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.recipe-retention.initial-delay:PT5M}",
+            fixedDelayString = "${app.recipe-retention.poll-interval:PT1H}")
+    public void purgeExpired() {
+        purgeDeletedBefore(LocalDateTime.now().minus(gracePeriod));
+    }
+
+    // Returns the number of tracks removed.
+    public int purgeDeletedBefore(LocalDateTime cutoff) {
+        int purged = 0;
+        Integer removed;
+        while ((removed = transactionTemplate.execute(status -> purgeBatch(cutoff))) != null) {
+            purged += removed;
+        }
+        return purged;
+    }
+
+    // Versions go first so a track is only removed once nothing references it. Returns the tracks removed by this
+    // batch, or null when nothing is left.
+    private Integer purgeBatch(LocalDateTime cutoff) {
+        List<UUID> versionIds = recipeVersionRepository.findIdsOfTracksDeletedBefore(cutoff, Limit.of(batchSize));
+        if (!versionIds.isEmpty()) {
+            recipeWaterPourRepository.bulkDeleteByRecipeVersionIds(versionIds);
+            recipeEquipmentRepository.bulkDeleteByRecipeVersionIds(versionIds);
+            recipeVersionRepository.deleteAllByIdInBatch(versionIds);
+            return 0;
+        }
+        // Favorites of these tracks go with them through ON DELETE CASCADE.
+        List<UUID> trackIds = recipeTrackRepository.findIdsDeletedBefore(cutoff, Limit.of(batchSize));
+        if (trackIds.isEmpty()) {
+            return null;
+        }
+        recipeTrackRepository.deleteAllByIdInBatch(trackIds);
+        return trackIds.size();
+    }
+}
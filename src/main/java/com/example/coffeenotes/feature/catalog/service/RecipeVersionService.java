@@ -1,5 +1,6 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.*;
 import com.example.coffeenotes.domain.catalog.BrewMethods;
 import com.example.coffeenotes.domain.catalog.CoffeeBean;
@@ -7,6 +8,7 @@ import com.example.coffeenotes.domain.catalog.Equipment;
 import com.example.coffeenotes.domain.catalog.Role;
 import com.example.coffeenotes.domain.catalog.recipe.*;
 import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadDiff;
 import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadStrategy;
 import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadStrategyRegistry;
 import com.example.coffeenotes.feature.catalog.methodpayload.dto.MethodPayloadMetadataDTO;
@@ -16,14 +18,24 @@ import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
 import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackSpecifications;
+import com.example.coffeenotes.feature.catalog.repository.recipe.CreateRecipeLookup;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackDetailsView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackSummaryView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackVersionStamp;
+import com.example.coffeenotes.feature.catalog.repository.recipe.VersionHistoryView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.VersionSnapshotView;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,14 +43,22 @@ import org.springframework.web.server.ResponseStatusException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class RecipeVersionService {
+    private static final long ESTIMATED_TOTAL_THRESHOLD = 10_000;
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     private final CoffeeBeanRepository coffeeBeanRepository;
     private final BrewMethodsRepository brewMethodsRepository;
@@ -51,6 +71,9 @@ public class RecipeVersionService {
     private final EquipmentRepository equipmentRepository;
     private final MethodPayloadStrategyRegistry methodPayloadStrategyRegistry;
     private final ObjectMapper objectMapper;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final GlobalRecipeListingCache globalRecipeListingCache;
+    private final RecipeDetailsCache recipeDetailsCache;
 
     @Transactional
     public RecipeVersionResponseDTO createRecipe(UUID userId, CreateTrackRequestDTO dto) {
@@ -78,26 +101,25 @@ public class RecipeVersionService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only one equipment is allowed per recipe.");
             }
         }
-        User owner = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        // Owner, bean, method and the duplicate-track flag come back together in one round trip.
+        CreateRecipeLookup lookup = recipeTrackRepository.findCreateLookup(userId, dto.getMethodId(), dto.getBeanId())
+                .orElseThrow(() -> ownerOrMethodNotFound(userId));
+        User owner = lookup.owner();
         if (dto.isGlobal() && owner.getRole() != Role.ADMIN) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can create global recipes.");
         }
         CoffeeBean bean = null;
         if (dto.getBeanId() != null) {
-            bean = coffeeBeanRepository.findById(dto.getBeanId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coffee bean not found"));
+            bean = lookup.bean();
 
-            if(bean.getDeletedAt() != null) {
+            if(bean == null || bean.getDeletedAt() != null) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coffee bean not found");
             }
             if(!bean.getOwner().getId().equals(userId) && !bean.isGlobal()) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Coffee bean not found");
             }
         }
-
-        BrewMethods method =  brewMethodsRepository.findById(dto.getMethodId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Method not found"));
+        BrewMethods method = lookup.method();
 
         MethodPayloadStrategy strategy = methodPayloadStrategyRegistry.getRequired(method.getName());
         String rawMethodPayload = dto.getMethodPayload();
@@ -118,14 +140,8 @@ public class RecipeVersionService {
         } catch (JsonProcessingException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize methodPayload JSON.", e);
         }
-        if (bean != null) {
-            boolean trackAlreadyExists = recipeTrackRepository
-                    .findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull(userId, bean.getId(), method.getId())
-                    .isPresent();
-
-            if(trackAlreadyExists) {
-                throw new ResponseStatusException(HttpStatus.CONFLICT, "Track already exists for this bean and method");
-            }
+        if (bean != null && lookup.duplicateTrack()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Track already exists for this bean and method");
         }
 
         RecipeTrack track = new RecipeTrack();
@@ -134,6 +150,7 @@ public class RecipeVersionService {
         track.setMethod(method);
         track.setTitle(title);
         track.setGlobal(dto.isGlobal());
+        track.setSearchDocument(searchDocument(title, method, bean));
 
         RecipeTrack saved = recipeTrackRepository.save(track);
 
@@ -144,15 +161,14 @@ public class RecipeVersionService {
         version.setTitle(title);
         version.setMethodPayload(normalizedPayloadString);
 
-        RecipeVersion savedVersion = recipeVersionRepository.save(version);
+        RecipeVersion savedVersion = recipeVersionRepository.saveAndFlush(version);
+        syncCurrentVersion(saved, savedVersion);
+        recipeSearchIndex.index(saved);
+        if (saved.isGlobal()) {
+            globalRecipeListingCache.invalidate();
+        }
         if (dto.getEquipmentIds() != null) {
             List<UUID> equipmentIds = dto.getEquipmentIds();
-            Set<UUID> seen = new HashSet<>();
-            for (UUID eid : equipmentIds) {
-                if (!seen.add(eid)) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate equipment id: " + eid);
-                }
-            }
             Map<UUID, Equipment> equipmentMap = equipmentRepository.findAllById(equipmentIds).stream()
                     .collect(Collectors.toMap(Equipment::getId, e -> e));
             if (equipmentMap.size() != equipmentIds.size()) {
@@ -184,11 +200,26 @@ public class RecipeVersionService {
         return answer;
     }
 
+    // findCreateLookup is empty only when the user or the method is missing; one more read tells which.
+    private ResponseStatusException ownerOrMethodNotFound(UUID userId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND,
+                userRepository.existsById(userId) ? "Method not found" : "User not found");
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<TrackSummaryResponseDTO> listRecipes(UUID userId, RecipeFilterDTO filter, Pageable pageable, String after) {
+        return listRecipes(userId, filter, pageable, after, true, false);
+    }
+
     @Transactional(readOnly = true)
-    public Page<TrackSummaryResponseDTO> listRecipes(UUID userId, RecipeFilterDTO filter, Pageable pageable) {
+    public PagedResponseDTO<TrackSummaryResponseDTO> listRecipes(UUID userId, RecipeFilterDTO filter, Pageable pageable, String after,
+                                                                 boolean withTotal, boolean estimateTotal) {
         if(userId == null || pageable == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId and pageable parameters must not be null.");
         }
+        RecipeListCursor cursor = RecipeListCursor.decode(after);
+        boolean applyAfter = cursor != null;
+        int pageSize = pageable.getPageSize();
 
         UUID methodId = filter != null ? filter.getMethodId() : null;
         UUID beanId = filter != null ? filter.getBeanId() : null;
@@ -209,8 +240,6 @@ public class RecipeVersionService {
                 q = null;
             }
         }
-        boolean qEnabled = q != null;
-        String qPattern = qEnabled ? "%" + q.toLowerCase(Locale.ROOT) + "%" : "%";
 
         if (ratingMin != null && (ratingMin < 1 || ratingMin > 5)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ratingMin must be between 1 and 5.");
@@ -233,79 +262,186 @@ public class RecipeVersionService {
         if (updatedFrom != null && updatedTo != null && updatedFrom.isAfter(updatedTo)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "updatedFrom must be before or equal to updatedTo.");
         }
-        boolean applyUpdatedFrom = updatedFrom != null;
-        boolean applyUpdatedTo = updatedTo != null;
-        LocalDateTime effectiveUpdatedFrom = applyUpdatedFrom ? updatedFrom : LocalDateTime.of(1970, 1, 1, 0, 0);
-        LocalDateTime effectiveUpdatedTo = applyUpdatedTo ? updatedTo : LocalDateTime.of(9999, 12, 31, 23, 59, 59);
-
-        Set<UUID> favoriteTracks = favoriteRepository.findByUser_Id(userId).stream()
-                .map(f -> f.getRecipeTrack().getId())
-                .collect(Collectors.toSet());
-
-        Page<RecipeTrack> trackPage = recipeTrackRepository.findVisibleTracks(
-                userId,
-                methodId,
-                beanId,
-                equipmentId,
-                isGlobal,
-                hasBean,
-                favoriteOnly,
-                ratingMin,
-                ratingMax,
-                brewTimeMinSeconds,
-                brewTimeMaxSeconds,
-                applyUpdatedFrom,
-                effectiveUpdatedFrom,
-                applyUpdatedTo,
-                effectiveUpdatedTo,
-                qEnabled,
-                qPattern,
-                pageable
-        );
-
-        List<UUID> trackIds = trackPage.getContent().stream().map(RecipeTrack::getId).toList();
-        Map<UUID, RecipeVersion> currentVersionsByTrackId = trackIds.isEmpty()
-                ? Map.of()
-                : recipeVersionRepository.findByTrack_IdInAndIsCurrentTrue(trackIds).stream()
-                        .collect(Collectors.toMap(
-                                v -> v.getTrack().getId(),
-                                v -> v,
-                                (left, right) -> {
-                                    Integer leftVersion = left.getVersionNumber();
-                                    Integer rightVersion = right.getVersionNumber();
-                                    if (leftVersion == null) {
-                                        return right;
-                                    }
-                                    if (rightVersion == null) {
-                                        return left;
-                                    }
-                                    return rightVersion >= leftVersion ? right : left;
-                                }
-                        ));
-
-        List<TrackSummaryResponseDTO> summaries = trackPage.getContent().stream().map(track -> {
+        String searchTerm = q != null ? q.toLowerCase(Locale.ROOT) : null;
+        boolean rankByRelevance = searchTerm != null && pageable.getSort().getOrderFor(RELEVANCE_SORT) != null;
+        if (rankByRelevance && applyAfter) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Relevance ordering does not support cursors.");
+        }
+
+        // Filters that read the same for every viewer; visibility, isGlobal and favoritesOnly are added per path.
+        List<Specification<RecipeTrack>> filters = new ArrayList<>();
+        filters.add(RecipeTrackSpecifications.currentVersionMatching(
+                ratingMin, ratingMax, brewTimeMinSeconds, brewTimeMaxSeconds, updatedFrom, updatedTo, equipmentId));
+        if (methodId != null) {
+            filters.add(RecipeTrackSpecifications.withMethod(methodId));
+        }
+        if (beanId != null) {
+            filters.add(RecipeTrackSpecifications.withBean(beanId));
+        }
+        if (hasBean != null) {
+            filters.add(RecipeTrackSpecifications.hasBean(hasBean));
+        }
+        if (q != null) {
+            filters.add(RecipeTrackSpecifications.textMatches("%" + searchTerm + "%"));
+        }
+
+        Long estimatedTotal = null;
+        if (withTotal && estimateTotal && isUnfiltered(filter)) {
+            long estimate = recipeTrackRepository.estimateVisibleTracks(userId);
+            if (estimate >= ESTIMATED_TOTAL_THRESHOLD) {
+                estimatedTotal = estimate;
+            }
+        }
+        boolean countTotal = withTotal && estimatedTotal == null;
+        boolean shareable = globalRecipeListingCache.isEnabled() && !favoriteOnly;
+
+        List<TrackSummaryView> rows;
+        Long totalElements = estimatedTotal;
+        if (shareable && Boolean.TRUE.equals(isGlobal)) {
+            GlobalRecipeListingCache.Key key = new GlobalRecipeListingCache.Key(methodId, beanId, equipmentId, hasBean,
+                    ratingMin, ratingMax, brewTimeMinSeconds, brewTimeMaxSeconds, updatedFrom, updatedTo,
+                    searchTerm, rankByRelevance, cursor, applyAfter ? 0 : pageable.getOffset(), pageSize + 1, countTotal);
+            GlobalRecipeListingCache.Listing listing = globalRecipeListingCache.get(key, () -> loadGlobalListing(filters, key));
+            rows = listing.rows();
+            if (countTotal) {
+                totalElements = listing.total();
+            }
+        } else if (shareable && isGlobal == null && !rankByRelevance && (applyAfter || pageable.getOffset() == 0)) {
+            // Mixed first or cursor page: the viewer's private tracks from SQL merged with the shared global page.
+            GlobalRecipeListingCache.Key key = new GlobalRecipeListingCache.Key(methodId, beanId, equipmentId, hasBean,
+                    ratingMin, ratingMax, brewTimeMinSeconds, brewTimeMaxSeconds, updatedFrom, updatedTo,
+                    searchTerm, false, cursor, 0, pageSize + 1, countTotal);
+            GlobalRecipeListingCache.Listing global = globalRecipeListingCache.get(key, () -> loadGlobalListing(filters, key));
+            Specification<RecipeTrack> own = Specification.allOf(filters)
+                    .and(RecipeTrackSpecifications.privateTracksOf(userId));
+            List<TrackSummaryView> ownRows = recipeTrackRepository.findSummaries(
+                    applyAfter ? own.and(RecipeTrackSpecifications.after(cursor.updatedAt(), cursor.trackId())) : own,
+                    RecipeTrackSpecifications.LIST_ORDER, 0, pageSize + 1);
+            rows = Stream.concat(ownRows.stream(), global.rows().stream())
+                    .sorted(RecipeTrackSpecifications.LIST_ORDER_COMPARATOR)
+                    .limit(pageSize + 1)
+                    .toList();
+            if (countTotal) {
+                totalElements = recipeTrackRepository.count(own) + global.total();
+            }
+        } else {
+            List<Specification<RecipeTrack>> predicates = new ArrayList<>();
+            predicates.add(RecipeTrackSpecifications.visibleTo(userId));
+            predicates.addAll(filters);
+            if (isGlobal != null) {
+                predicates.add(RecipeTrackSpecifications.global(isGlobal));
+            }
+            if (favoriteOnly) {
+                predicates.add(RecipeTrackSpecifications.favoriteOf(userId));
+            }
+            Specification<RecipeTrack> spec = Specification.allOf(predicates);
+            rows = findPage(spec, cursor, rankByRelevance ? searchTerm : null, pageable.getOffset(), pageSize + 1);
+            if (countTotal) {
+                totalElements = recipeTrackRepository.count(spec);
+            }
+        }
+        boolean hasNext = rows.size() > pageSize;
+        List<TrackSummaryView> tracks = hasNext ? rows.subList(0, pageSize) : rows;
+        Set<UUID> favoriteTracks = tracks.isEmpty()
+                ? Set.of()
+                : favoriteRepository.findFavoriteTrackIds(userId, tracks.stream().map(TrackSummaryView::trackId).toList());
+
+        List<TrackSummaryResponseDTO> summaries = tracks.stream().map(track -> {
             TrackSummaryResponseDTO dto = new TrackSummaryResponseDTO();
-            dto.setTrackId(track.getId());
-            CoffeeBean bean = track.getBean();
-            dto.setBeanId(bean != null ? bean.getId() : null);
-            dto.setBeanName(bean != null ? bean.getName() : null);
-            dto.setMethodId(track.getMethod().getId());
-            dto.setMethodName(track.getMethod().getName());
-            dto.setTitle(track.getTitle());
+            dto.setTrackId(track.trackId());
+            dto.setBeanId(track.beanId());
+            dto.setBeanName(track.beanName());
+            dto.setMethodId(track.methodId());
+            dto.setMethodName(track.methodName());
+            dto.setTitle(track.title());
             dto.setGlobal(track.isGlobal());
-            dto.setFavorite(favoriteTracks.contains(track.getId()));
+            dto.setFavorite(favoriteTracks.contains(track.trackId()));
 
-            RecipeVersion v = currentVersionsByTrackId.get(track.getId());
-            if (v != null) {
-                dto.setCurrentVersionNumber(v.getVersionNumber());
-                dto.setRating(v.getRating());
-                dto.setUpdatedAt(v.getUpdatedAt());
-            }
+            dto.setCurrentVersionNumber(track.currentVersionNumber());
+            dto.setRating(track.currentRating());
+            dto.setUpdatedAt(track.currentVersionUpdatedAt());
 
             return dto;
         }).toList();
 
-        return new PageImpl<>(summaries, pageable, trackPage.getTotalElements());
+        PagedResponseDTO<TrackSummaryResponseDTO> response = new PagedResponseDTO<>();
+        response.setItems(summaries);
+        response.setPage(applyAfter ? 0 : pageable.getPageNumber());
+        response.setSize(pageSize);
+        response.setTotalElements(totalElements);
+        response.setTotalPages(totalElements != null ? (int) ((totalElements + pageSize - 1) / pageSize) : null);
+        response.setTotalEstimated(estimatedTotal != null);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(applyAfter || pageable.getPageNumber() > 0);
+        if (hasNext && !rankByRelevance && !tracks.isEmpty()) {
+            TrackSummaryView last = tracks.get(tracks.size() - 1);
+            response.setNextCursor(new RecipeListCursor(last.updatedAt(), last.trackId()).encode());
+        }
+        return response;
+    }
+
+    private GlobalRecipeListingCache.Listing loadGlobalListing(List<Specification<RecipeTrack>> filters,
+                                                               GlobalRecipeListingCache.Key key) {
+        Specification<RecipeTrack> spec = Specification.allOf(filters).and(RecipeTrackSpecifications.sharedTracks());
+        List<TrackSummaryView> rows = findPage(spec, key.after(), key.rankByRelevance() ? key.searchTerm() : null,
+                key.offset(), key.limit());
+        return new GlobalRecipeListingCache.Listing(List.copyOf(rows), key.withTotal() ? recipeTrackRepository.count(spec) : null);
+    }
+
+    private List<TrackSummaryView> findPage(Specification<RecipeTrack> spec, RecipeListCursor cursor, String rankingTerm,
+                                            long offset, int limit) {
+        if (cursor != null) {
+            return recipeTrackRepository.findSummaries(
+                    spec.and(RecipeTrackSpecifications.after(cursor.updatedAt(), cursor.trackId())),
+                    RecipeTrackSpecifications.LIST_ORDER, 0, limit);
+        }
+        if (rankingTerm != null) {
+            return recipeTrackRepository.findSummaries(
+                    spec.and(RecipeTrackSpecifications.rankedBy(rankingTerm)), Sort.unsorted(), offset, limit);
+        }
+        return recipeTrackRepository.findSummaries(spec, RecipeTrackSpecifications.LIST_ORDER, offset, limit);
+    }
+
+    private boolean isUnfiltered(RecipeFilterDTO filter) {
+        return filter == null
+                || (isTextOnly(filter) && (filter.getQ() == null || filter.getQ().isBlank()));
+    }
+
+    private boolean isTextOnly(RecipeFilterDTO filter) {
+        return filter == null
+                || (filter.getMethodId() == null
+                && filter.getBeanId() == null
+                && filter.getEquipmentId() == null
+                && filter.getIsGlobal() == null
+                && filter.getHasBean() == null
+                && !Boolean.TRUE.equals(filter.getFavoritesOnly())
+                && filter.getRatingMin() == null
+                && filter.getRatingMax() == null
+                && filter.getBrewTimeMinSeconds() == null
+                && filter.getBrewTimeMaxSeconds() == null
+                && filter.getUpdatedFrom() == null
+                && filter.getUpdatedTo() == null);
+    }
+
+    // Text-only requests are answered from the in-memory index when it is enabled; anything else goes to SQL.
+    @Transactional(readOnly = true)
+    public List<RecipeSuggestionDTO> suggestRecipes(UUID userId, RecipeFilterDTO filter, int limit) {
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId must not be null.");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        String q = filter != null && filter.getQ() != null ? filter.getQ().trim() : "";
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        if (isTextOnly(filter) && recipeSearchIndex.isReady()) {
+            return recipeSearchIndex.suggest(userId, q, limit);
+        }
+        return listRecipes(userId, filter, PageRequest.of(0, limit), null, false, false).getItems().stream()
+                .map(s -> new RecipeSuggestionDTO(s.getTrackId(), s.getTitle(), s.getMethodName(), s.isGlobal(), s.getUpdatedAt()))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -313,72 +449,163 @@ public class RecipeVersionService {
         if(userId == null || trackId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId or trackId null.");
         }
-        RecipeTrack recipe = recipeTrackRepository.findById(trackId)
+        if(recipeDetailsCache.isEnabled()) {
+            return getCachedRecipe(userId, trackId, findRecipeStamp(userId, trackId));
+        }
+        return loadRecipe(userId, trackId);
+    }
+
+    // Conditional read: one stamp yields the ETag and, when the client's copy is stale, keys the cached detail.
+    @Transactional(readOnly = true)
+    public TaggedTrackDetails getRecipe(UUID userId, UUID trackId, Predicate<String> notModified) {
+        if(userId == null || trackId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId or trackId null.");
+        }
+        TrackVersionStamp stamp = findRecipeStamp(userId, trackId);
+        String eTag = recipeETag(stamp);
+        if(notModified.test(eTag)) {
+            return new TaggedTrackDetails(eTag, null);
+        }
+        TrackDetailsResponseDTO details = recipeDetailsCache.isEnabled()
+                ? getCachedRecipe(userId, trackId, stamp)
+                : loadRecipe(userId, trackId);
+        return new TaggedTrackDetails(eTag, details);
+    }
+
+    private TrackDetailsResponseDTO loadRecipe(UUID userId, UUID trackId) {
+        TrackDetailsView recipe = recipeTrackRepository.findDetails(trackId, userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found."));
-        if(recipe.getDeletedAt() != null) {
+        if(!recipe.ownerId().equals(userId) && !recipe.isGlobal()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found.");
         }
-        if(recipe.getOwner().getId().equals(userId) || recipe.isGlobal()) {
-            RecipeVersion version = recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(trackId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Version not found"));
-            List<RecipeWaterPour> waterPours = recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(version.getId());
-            List<RecipeEquipment> recipeEquipments = recipeEquipmentRepository.findByRecipeVersion_Id(version.getId());
-            boolean exists = favoriteRepository.existsByUser_IdAndRecipeTrack_Id(userId, trackId);
-            TrackDetailsResponseDTO dto = new TrackDetailsResponseDTO();
-
-            dto.setTrackId(recipe.getId());
-            CoffeeBean bean = recipe.getBean();
-            dto.setBeanId(bean != null ? bean.getId() : null);
-            dto.setBeanName(bean != null ? bean.getName() : null);
-            dto.setRoaster(bean != null ? bean.getRoaster() : null);
-            dto.setOrigin(bean != null ? bean.getOrigin() : null);
-            dto.setProcess(bean != null ? bean.getProcess() : null);
-            dto.setNotes(bean != null ? bean.getNotes() : null);
-
-            dto.setMethodId(recipe.getMethod().getId());
-            dto.setMethodName(recipe.getMethod().getName());
-
-            dto.setTitle(recipe.getTitle());
-            dto.setGlobal(recipe.isGlobal());
-            dto.setFavorite(exists);
-
-            dto.setCreatedAt(recipe.getCreatedAt());
-            dto.setUpdatedAt(recipe.getUpdatedAt());
-
-            dto.setVersionId(version.getId());
-            dto.setVersionNumber(version.getVersionNumber());
-            dto.setCurrent(version.isCurrent());
-            dto.setCoffeeAmount(version.getCoffeeAmount());
-            dto.setWaterAmount(version.getWaterAmount());
-            dto.setGrindSize(version.getGrindSize());
-            dto.setBrewTimeSeconds(version.getBrewTimeSeconds());
-            dto.setWaterTemperatureCelsius(version.getWaterTemperatureCelsius());
-            dto.setRating(version.getRating());
-            dto.setMethodPayload(version.getMethodPayload());
-            dto.setVersionUpdatedAt(version.getUpdatedAt());
-
-            List<WaterPourDTO> pourDTOs = waterPours.stream().map(p -> {
-                WaterPourDTO pourDto = new WaterPourDTO();
-                pourDto.setWaterAmountMl(p.getWaterAmount());
-                pourDto.setTime(p.getTime());
-                pourDto.setOrderIndex(p.getOrderIndex());
-                return pourDto;
-            }).toList();
+        if(recipe.versionId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Version not found");
+        }
+        return toDetailsDTO(recipe);
+    }
 
-            List<UUID> equipmentIds = recipeEquipments.stream()
-                    .map(e -> e.getEquipment().getId())
-                    .toList();
+    // Visibility, current version and the caller's favorite flag come from the one-row stamp; the rest of the
+    // detail is reused for as long as the track stays on that version.
+    private TrackDetailsResponseDTO getCachedRecipe(UUID userId, UUID trackId, TrackVersionStamp stamp) {
+        TrackDetailsView recipe = recipeDetailsCache.get(trackId, stamp.currentVersionId(),
+                () -> recipeTrackRepository.findDetails(trackId, userId).orElse(null));
+        if(recipe == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found.");
+        }
+        if(recipe.versionId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Version not found");
+        }
+        TrackDetailsResponseDTO dto = toDetailsDTO(recipe);
+        dto.setFavorite(stamp.favorite());
+        return dto;
+    }
 
-            dto.setWaterPours(pourDTOs);
-            dto.setEquipmentIds(equipmentIds);
+    private TrackVersionStamp findRecipeStamp(UUID userId, UUID trackId) {
+        TrackVersionStamp stamp = recipeTrackRepository.findVersionStamp(trackId, userId)
+                .filter(s -> s.ownerId().equals(userId) || s.isGlobal())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found."));
+        if(stamp.currentVersionId() == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Version not found");
+        }
+        return stamp;
+    }
 
-            return dto;
-        } else {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found.");
+    // Resolves up to MAX_BATCH_SIZE tracks with one detail query; ids that are missing, hidden from the caller or
+    // without a current version come back as not-found items, in request order.
+    @Transactional(readOnly = true)
+    public List<RecipeBatchItemDTO> getRecipeBatch(UUID userId, List<UUID> trackIds) {
+        if(userId == null || trackIds == null || trackIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "trackIds must not be empty.");
+        }
+        if(trackIds.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " track ids per batch.");
         }
+        if(trackIds.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Track id must not be null.");
+        }
+        Set<UUID> requested = new LinkedHashSet<>(trackIds);
+        Map<UUID, TrackDetailsView> found = recipeTrackRepository.findAllDetails(requested, userId).stream()
+                .filter(d -> (d.ownerId().equals(userId) || d.isGlobal()) && d.versionId() != null)
+                .collect(Collectors.toMap(TrackDetailsView::trackId, d -> d));
+        return requested.stream()
+                .map(id -> found.containsKey(id)
+                        ? new RecipeBatchItemDTO(id, true, toDetailsDTO(found.get(id)))
+                        : new RecipeBatchItemDTO(id, false, null))
+                .toList();
+    }
+
+    private TrackDetailsResponseDTO toDetailsDTO(TrackDetailsView recipe) {
+        TrackDetailsResponseDTO dto = new TrackDetailsResponseDTO();
+
+        dto.setTrackId(recipe.trackId());
+        dto.setBeanId(recipe.beanId());
+        dto.setBeanName(recipe.beanName());
+        dto.setRoaster(recipe.roaster());
+        dto.setOrigin(recipe.origin());
+        dto.setProcess(recipe.process());
+        dto.setNotes(recipe.notes());
+
+        dto.setMethodId(recipe.methodId());
+        dto.setMethodName(recipe.methodName());
+
+        dto.setTitle(recipe.title());
+        dto.setGlobal(recipe.isGlobal());
+        dto.setFavorite(recipe.favorite());
+
+        dto.setCreatedAt(recipe.createdAt());
+        dto.setUpdatedAt(recipe.updatedAt());
+
+        dto.setVersionId(recipe.versionId());
+        dto.setVersionNumber(recipe.versionNumber());
+        dto.setCurrent(recipe.isCurrent());
+        dto.setCoffeeAmount(recipe.coffeeAmount());
+        dto.setWaterAmount(recipe.waterAmount());
+        dto.setGrindSize(recipe.grindSize());
+        dto.setBrewTimeSeconds(recipe.brewTimeSeconds());
+        dto.setWaterTemperatureCelsius(recipe.waterTemperatureCelsius());
+        dto.setRating(recipe.rating());
+        dto.setMethodPayload(recipe.methodPayload());
+        dto.setVersionUpdatedAt(recipe.versionUpdatedAt());
+
+        List<WaterPourDTO> pourDTOs = recipe.waterPours().stream().map(RecipeVersionService::toWaterPourDTO).toList();
+
+        dto.setWaterPours(pourDTOs);
+        dto.setEquipmentIds(recipe.equipmentIds());
+
+        return dto;
     }
 
 
+    // Strong validators for conditional GETs, read from a one-row stamp instead of assembling the detail or history.
+    @Transactional(readOnly = true)
+    public String getRecipeETag(UUID userId, UUID trackId) {
+        if(userId == null || trackId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId or trackId null.");
+        }
+        return recipeETag(findRecipeStamp(userId, trackId));
+    }
+
+    @Transactional(readOnly = true)
+    public String getRecipeVersionsETag(UUID userId, UUID trackId) {
+        if(userId == null || trackId == null){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There are missing fields");
+        }
+        TrackVersionStamp stamp = recipeTrackRepository.findVersionStamp(trackId, userId)
+                .filter(s -> s.ownerId().equals(userId) || s.isGlobal())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found"));
+        return eTag("versions", stamp.updatedAt(), stamp.currentVersionId(), stamp.currentVersionUpdatedAt());
+    }
+
+    private static String recipeETag(TrackVersionStamp stamp) {
+        return eTag("recipe", stamp.updatedAt(), stamp.methodName(), stamp.currentVersionId(),
+                stamp.currentVersionUpdatedAt(), stamp.favorite());
+    }
+
+    private static String eTag(Object... parts) {
+        String raw = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "\"" + UUID.nameUUIDFromBytes(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     @Transactional
     public RecipeVersionResponseDTO updateRecipe(UUID userId, UUID trackId, UpdateRecipeRequestDTO dto) {
        if(userId == null || dto == null || trackId == null) {
@@ -405,58 +632,8 @@ public class RecipeVersionService {
        if(dto.getTitle() != null && dto.getTitle().isBlank()) {
            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title must not be empty.");
        }
-       if(dto.getRating() != null){
-           if(dto.getRating() < 1 || dto.getRating() > 5){
-               throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rating should be between 1 and 5");
-           }
-       }
-       if(dto.getBrewTimeSeconds() != null && dto.getBrewTimeSeconds() < 0){
-           throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Time cannot be negative");
-       }
-       if(dto.getWaterTemperatureCelsius() != null && dto.getWaterTemperatureCelsius() < 0){
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water temperature cannot be negative");
-       }
-       if(dto.getGrindSize() != null && dto.getGrindSize() < 0){
-           throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grind size clicks cannot be negative.");
-       }
-        if (dto.getWaterPours() != null) {
-            Set<Integer> seenOrderIndexes = new HashSet<>();
-
-            for (WaterPourDTO p : dto.getWaterPours()) {
-                if (p == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water pour item must not be null.");
-                }
-                if (p.getWaterAmountMl() == null || p.getWaterAmountMl() <= 0) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water amount must be greater than 0.");
-                }
-                if (p.getTime() == null || p.getTime().isBlank()) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water pour time must not be blank.");
-                }
-                if (p.getOrderIndex() == null || p.getOrderIndex() < 0) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order index must be 0 or greater.");
-                }
-                if (!seenOrderIndexes.add(p.getOrderIndex())) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate orderIndex in water pours.");
-                }
-            }
-        }
-
-        if (dto.getEquipmentIds() != null) {
-            Set<UUID> seenEquipmentIds = new HashSet<>();
-
-            for (UUID equipmentId : dto.getEquipmentIds()) {
-                if (equipmentId == null) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Equipment id must not be null.");
-                }
-                if (!seenEquipmentIds.add(equipmentId)) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate equipment id.");
-                }
-            }
-            if (seenEquipmentIds.size() > 1) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only one equipment is allowed per recipe.");
-            }
-        }
-
+        validateVersionFields(dto.getRating(), dto.getBrewTimeSeconds(), dto.getWaterTemperatureCelsius(),
+                dto.getGrindSize(), dto.getWaterPours(), dto.getEquipmentIds());
 
         RecipeTrack recipe = recipeTrackRepository.findById(trackId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found."));
@@ -490,8 +667,6 @@ public class RecipeVersionService {
             normalizedPayloadString = sourceVersion.getMethodPayload();
         }
 
-        List<RecipeWaterPour> sourceWaterPours = recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(sourceVersion.getId());
-        List<RecipeEquipment> sourceEquipments = recipeEquipmentRepository.findByRecipeVersion_Id(sourceVersion.getId());
         String updatedTitle = dto.getTitle() != null ? dto.getTitle().trim() : null;
         String resolvedTitle = updatedTitle != null && !updatedTitle.isBlank() ? updatedTitle : sourceVersion.getTitle();
 
@@ -503,6 +678,7 @@ public class RecipeVersionService {
             sourceVersion.setCurrent(false);
             recipeVersionRepository.saveAndFlush(sourceVersion);
             recipe.setTitle(resolvedTitle);
+            recipe.setSearchDocument(searchDocument(resolvedTitle, recipe.getMethod(), recipe.getBean()));
             targetTrack = recipeTrackRepository.save(recipe);
             nextVersionNumber = sourceVersion.getVersionNumber() + 1;
         } else {
@@ -518,6 +694,7 @@ public class RecipeVersionService {
             forkedTrack.setMethod(recipe.getMethod());
             forkedTrack.setTitle(resolvedTitle);
             forkedTrack.setGlobal(false);
+            forkedTrack.setSearchDocument(searchDocument(resolvedTitle, forkedTrack.getMethod(), forkedTrack.getBean()));
             targetTrack = recipeTrackRepository.save(forkedTrack);
             nextVersionNumber = 1;
         }
@@ -535,47 +712,49 @@ public class RecipeVersionService {
         newVersion.setRating(dto.getRating() != null ? dto.getRating() : sourceVersion.getRating());
         newVersion.setMethodPayload(normalizedPayloadString);
 
-        RecipeVersion saved = recipeVersionRepository.save(newVersion);
-
-        List<WaterPourDTO> effectivePours =
-            dto.getWaterPours() != null
-                ? dto.getWaterPours()
-                : sourceWaterPours.stream().map(p -> {
-                    WaterPourDTO x = new WaterPourDTO();
-                    x.setWaterAmountMl(p.getWaterAmount());
-                    x.setTime(p.getTime());
-                    x.setOrderIndex(p.getOrderIndex());
-                    return x;
+        RecipeVersion saved = recipeVersionRepository.saveAndFlush(newVersion);
+        syncCurrentVersion(targetTrack, saved);
+        recipeSearchIndex.index(targetTrack);
+        recipeDetailsCache.invalidateTrack(targetTrack.getId());
+        if (targetTrack.isGlobal()) {
+            globalRecipeListingCache.invalidate();
+        }
+
+        // Collections the request leaves alone are copied server-side from the source version.
+        if (dto.getWaterPours() != null) {
+            List<RecipeWaterPour> newPours = dto.getWaterPours().stream().map(p -> {
+                RecipeWaterPour row = new RecipeWaterPour();
+                row.setRecipeVersion(saved);
+                row.setWaterAmount(p.getWaterAmountMl());
+                row.setTime(p.getTime());
+                row.setOrderIndex(p.getOrderIndex());
+                return row;
             }).toList();
-        List<RecipeWaterPour> newPours = effectivePours.stream().map(p -> {
-            RecipeWaterPour row = new RecipeWaterPour();
-            row.setRecipeVersion(saved);
-            row.setWaterAmount(p.getWaterAmountMl());
-            row.setTime(p.getTime());
-            row.setOrderIndex(p.getOrderIndex());
-            return row;
-        }).toList();
-        recipeWaterPourRepository.saveAll(newPours);
-
-        List<UUID> effectiveEquipmentIds =
-                dto.getEquipmentIds() != null
-                    ? dto.getEquipmentIds()
-                    : sourceEquipments.stream()
-                                .map(e -> e.getEquipment().getId())
-                                        .toList();
-
-        List<RecipeEquipment> newEquipments = effectiveEquipmentIds.stream().map(equipmentId -> {
-            Equipment equipment = equipmentRepository.findById(equipmentId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipment not found"));
-
-            RecipeEquipment row = new RecipeEquipment();
-            row.setId(new RecipeEquipmentId(saved.getId(), equipment.getId()));
-            row.setRecipeVersion(saved);
-            row.setEquipment(equipment);
-            return row;
-        }).toList();
+            recipeWaterPourRepository.saveAll(newPours);
+        } else {
+            recipeWaterPourRepository.copyToVersion(sourceVersion.getId(), saved.getId());
+        }
 
-        recipeEquipmentRepository.saveAll(newEquipments);
+        if (dto.getEquipmentIds() != null) {
+            List<UUID> equipmentIds = dto.getEquipmentIds();
+            List<Equipment> equipments = equipmentIds.isEmpty()
+                    ? List.of()
+                    : equipmentRepository.findAllById(equipmentIds);
+            if (equipments.size() != equipmentIds.size()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipment not found");
+            }
+
+            List<RecipeEquipment> newEquipments = equipments.stream().map(equipment -> {
+                RecipeEquipment row = new RecipeEquipment();
+                row.setId(new RecipeEquipmentId(saved.getId(), equipment.getId()));
+                row.setRecipeVersion(saved);
+                row.setEquipment(equipment);
+                return row;
+            }).toList();
+            recipeEquipmentRepository.saveAll(newEquipments);
+        } else {
+            recipeEquipmentRepository.copyToVersion(sourceVersion.getId(), saved.getId());
+        }
 
         RecipeVersionResponseDTO answer = new RecipeVersionResponseDTO();
         answer.setTrackId(targetTrack.getId());
@@ -598,59 +777,260 @@ public class RecipeVersionService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There are missing fields");
         }
 
-        RecipeTrack track = recipeTrackRepository.findById(trackId)
+        // One lookup and two bulk updates, however many versions the track has.
+        boolean global = recipeTrackRepository.findLiveGlobalFlag(trackId, userId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found"));
-        if(track.getDeletedAt() != null) {
+        LocalDateTime now = LocalDateTime.now();
+        if (recipeTrackRepository.softDelete(trackId, userId, now) == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found");
         }
-        if(!track.getOwner().getId().equals(userId)){
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found");
+        recipeVersionRepository.softDeleteByTrackId(trackId, now);
+        recipeSearchIndex.removeAll(List.of(trackId));
+        recipeDetailsCache.invalidateTrack(trackId);
+        if (global) {
+            globalRecipeListingCache.invalidate();
         }
-        LocalDateTime now = LocalDateTime.now();
-        track.setDeletedAt(now);
-        List<RecipeVersion> versions = recipeVersionRepository.findByTrack_IdOrderByVersionNumberDesc(trackId);
-        for(RecipeVersion version : versions){
-            if(version.getDeletedAt() == null) {
-                version.setDeletedAt(now);
-                version.setCurrent(false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VersionHistoryItemDTO> listRecipeVersions(UUID userId, UUID trackId) {
+        requireVisibleTrack(userId, trackId);
+        return recipeVersionRepository.findHistory(trackId, Limit.unlimited()).stream()
+                .map(RecipeVersionService::toHistoryItem)
+                .toList();
+    }
+
+    // Newest first, one page at a time; the cursor is the last versionNumber of the previous page.
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<VersionHistoryItemDTO> listRecipeVersions(UUID userId, UUID trackId, int size, String after) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ".");
+        }
+        Integer beforeVersion = null;
+        if (after != null) {
+            try {
+                beforeVersion = Integer.valueOf(after);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
             }
         }
-        recipeVersionRepository.saveAll(versions);
-        recipeTrackRepository.save(track);
+        requireVisibleTrack(userId, trackId);
+
+        List<VersionHistoryView> rows = beforeVersion == null
+                ? recipeVersionRepository.findHistory(trackId, Limit.of(size + 1))
+                : recipeVersionRepository.findHistoryBefore(trackId, beforeVersion, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        List<VersionHistoryItemDTO> items = rows.stream()
+                .limit(size)
+                .map(RecipeVersionService::toHistoryItem)
+                .toList();
+
+        PagedResponseDTO<VersionHistoryItemDTO> response = new PagedResponseDTO<>();
+        response.setItems(items);
+        response.setSize(size);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(beforeVersion != null);
+        if (hasNext) {
+            response.setNextCursor(String.valueOf(items.get(items.size() - 1).getVersionNumber()));
+        }
+        return response;
     }
 
+    // Field-level diff between two live versions of a visible track, read together in one query.
     @Transactional(readOnly = true)
-    public List<VersionHistoryItemDTO> listRecipeVersions(UUID userId, UUID trackId) {
-        if(userId == null || trackId == null){
+    public RecipeDiffResponseDTO getRecipeDiff(UUID userId, UUID trackId, Integer fromVersion, Integer toVersion) {
+        if (userId == null || trackId == null || fromVersion == null || toVersion == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There are missing fields");
         }
+        if (fromVersion < 1 || toVersion < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Version numbers must be 1 or greater.");
+        }
+        // A version compared with itself is valid and yields an empty diff; Set.of would reject the duplicate.
+        Set<Integer> versionNumbers = new HashSet<>(List.of(fromVersion, toVersion));
+        List<VersionSnapshotView> snapshots = recipeTrackRepository.findVersionSnapshots(trackId, versionNumbers);
+        if (snapshots.isEmpty() || (!snapshots.get(0).ownerId().equals(userId) && !snapshots.get(0).isGlobal())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found");
+        }
+        Map<Integer, VersionSnapshotView> byNumber = snapshots.stream()
+                .filter(v -> v.versionId() != null)
+                .collect(Collectors.toMap(VersionSnapshotView::versionNumber, v -> v));
+        VersionSnapshotView from = byNumber.get(fromVersion);
+        VersionSnapshotView to = byNumber.get(toVersion);
+        if (from == null || to == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Version not found");
+        }
 
-        RecipeTrack track = recipeTrackRepository.findById(trackId)
+        List<FieldChangeDTO> fields = new ArrayList<>();
+        addFieldChange(fields, "title", from.title(), to.title());
+        addFieldChange(fields, "coffeeAmount", from.coffeeAmount(), to.coffeeAmount());
+        addFieldChange(fields, "waterAmount", from.waterAmount(), to.waterAmount());
+        addFieldChange(fields, "grindSize", from.grindSize(), to.grindSize());
+        addFieldChange(fields, "brewTimeSeconds", from.brewTimeSeconds(), to.brewTimeSeconds());
+        addFieldChange(fields, "waterTemperatureCelsius", from.waterTemperatureCelsius(), to.waterTemperatureCelsius());
+        addFieldChange(fields, "rating", from.rating(), to.rating());
+        addFieldChange(fields, "equipmentIds", from.equipmentIds(), to.equipmentIds());
+
+        RecipeDiffResponseDTO diff = new RecipeDiffResponseDTO();
+        diff.setTrackId(trackId);
+        diff.setFromVersion(fromVersion);
+        diff.setToVersion(toVersion);
+        diff.setFields(fields);
+        diff.setWaterPours(diffWaterPours(from.waterPours(), to.waterPours()));
+        diff.setMethodPayload(diffMethodPayload(from.methodPayload(), to.methodPayload()));
+        return diff;
+    }
+
+    private static void addFieldChange(List<FieldChangeDTO> changes, String field, Object from, Object to) {
+        if (!Objects.equals(from, to)) {
+            changes.add(new FieldChangeDTO(field, from, to));
+        }
+    }
+
+    private static List<WaterPourChangeDTO> diffWaterPours(List<TrackDetailsView.Pour> from, List<TrackDetailsView.Pour> to) {
+        Map<Integer, TrackDetailsView.Pour> before = from.stream()
+                .collect(Collectors.toMap(TrackDetailsView.Pour::orderIndex, p -> p));
+        Map<Integer, TrackDetailsView.Pour> after = to.stream()
+                .collect(Collectors.toMap(TrackDetailsView.Pour::orderIndex, p -> p));
+        SortedSet<Integer> orderIndexes = new TreeSet<>(before.keySet());
+        orderIndexes.addAll(after.keySet());
+
+        List<WaterPourChangeDTO> changes = new ArrayList<>();
+        for (Integer orderIndex : orderIndexes) {
+            TrackDetailsView.Pour old = before.get(orderIndex);
+            TrackDetailsView.Pour current = after.get(orderIndex);
+            if (old == null) {
+                changes.add(new WaterPourChangeDTO(orderIndex, "added", null, toWaterPourDTO(current)));
+            } else if (current == null) {
+                changes.add(new WaterPourChangeDTO(orderIndex, "removed", toWaterPourDTO(old), null));
+            } else if (!old.equals(current)) {
+                changes.add(new WaterPourChangeDTO(orderIndex, "changed", toWaterPourDTO(old), toWaterPourDTO(current)));
+            }
+        }
+        return changes;
+    }
+
+    private List<MethodPayloadChangeDTO> diffMethodPayload(String from, String to) {
+        if (Objects.equals(from, to)) {
+            return List.of();
+        }
+        try {
+            return MethodPayloadDiff.diff(objectMapper.readTree(from), objectMapper.readTree(to)).stream()
+                    .map(change -> new MethodPayloadChangeDTO(change.op(), change.path(),
+                            plainValue(change.from()), plainValue(change.to())))
+                    .toList();
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Stored methodPayload is not valid JSON.", e);
+        }
+    }
+
+    // Plain maps, lists and scalars, so the response does not depend on which JSON library serializes it.
+    private Object plainValue(JsonNode node) {
+        return node != null ? objectMapper.convertValue(node, Object.class) : null;
+    }
+
+    private static WaterPourDTO toWaterPourDTO(TrackDetailsView.Pour pour) {
+        WaterPourDTO dto = new WaterPourDTO();
+        dto.setWaterAmountMl(pour.waterAmountMl());
+        dto.setTime(pour.time());
+        dto.setOrderIndex(pour.orderIndex());
+        return dto;
+    }
+
+    private void requireVisibleTrack(UUID userId, UUID trackId) {
+        if(userId == null || trackId == null){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "There are missing fields");
+        }
+        recipeTrackRepository.findVersionStamp(trackId, userId)
+                .filter(s -> s.ownerId().equals(userId) || s.isGlobal())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found"));
-        if(track.getDeletedAt() != null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found");
+    }
+
+    private static VersionHistoryItemDTO toHistoryItem(VersionHistoryView version) {
+        VersionHistoryItemDTO item = new VersionHistoryItemDTO();
+        item.setVersionId(version.versionId());
+        item.setVersionNumber(version.versionNumber());
+        item.setCurrent(version.isCurrent());
+        item.setTitle(version.title());
+        item.setRating(version.rating());
+        item.setCreatedAt(version.createdAt());
+        item.setUpdatedAt(version.updatedAt());
+        return item;
+    }
+
+    // Version-level checks shared by updateRecipe and the bulk import.
+    static void validateVersionFields(Integer rating, Integer brewTimeSeconds, Integer waterTemperatureCelsius,
+                                      Integer grindSize, List<WaterPourDTO> waterPours, List<UUID> equipmentIds) {
+        if(rating != null){
+            if(rating < 1 || rating > 5){
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rating should be between 1 and 5");
+            }
         }
-        if(!track.getOwner().getId().equals(userId) && !track.isGlobal()){
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Track not found");
+        if(brewTimeSeconds != null && brewTimeSeconds < 0){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Time cannot be negative");
+        }
+        if(waterTemperatureCelsius != null && waterTemperatureCelsius < 0){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water temperature cannot be negative");
         }
-        List<RecipeVersion> versions = recipeVersionRepository.findByTrack_IdOrderByVersionNumberDesc(trackId);
-        List<VersionHistoryItemDTO> ans = new ArrayList<>();
-        for(RecipeVersion version : versions){
-            if(version.getDeletedAt() != null) {
-                continue;
+        if(grindSize != null && grindSize < 0){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Grind size clicks cannot be negative.");
+        }
+        if (waterPours != null) {
+            Set<Integer> seenOrderIndexes = new HashSet<>();
+
+            for (WaterPourDTO p : waterPours) {
+                if (p == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water pour item must not be null.");
+                }
+                if (p.getWaterAmountMl() == null || p.getWaterAmountMl() <= 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water amount must be greater than 0.");
+                }
+                if (p.getTime() == null || p.getTime().isBlank()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Water pour time must not be blank.");
+                }
+                if (p.getOrderIndex() == null || p.getOrderIndex() < 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order index must be 0 or greater.");
+                }
+                if (!seenOrderIndexes.add(p.getOrderIndex())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate orderIndex in water pours.");
+                }
+            }
+        }
+
+        if (equipmentIds != null) {
+            Set<UUID> seenEquipmentIds = new HashSet<>();
+
+            for (UUID equipmentId : equipmentIds) {
+                if (equipmentId == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Equipment id must not be null.");
+                }
+                if (!seenEquipmentIds.add(equipmentId)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate equipment id.");
+                }
             }
-            VersionHistoryItemDTO curr = new VersionHistoryItemDTO();
-            curr.setVersionId(version.getId());
-            curr.setVersionNumber(version.getVersionNumber());
-            curr.setCurrent(version.isCurrent());
-            curr.setTitle(version.getTitle());
-            curr.setRating(version.getRating());
-            curr.setCreatedAt(version.getCreatedAt());
-            curr.setUpdatedAt(version.getUpdatedAt());
-            ans.add(curr);
-
-        }
-        return ans;
+            if (seenEquipmentIds.size() > 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only one equipment is allowed per recipe.");
+            }
+        }
+    }
+
+    static void syncCurrentVersion(RecipeTrack track, RecipeVersion current) {
+        track.setCurrentVersionNumber(current != null ? current.getVersionNumber() : null);
+        track.setCurrentRating(current != null ? current.getRating() : null);
+        track.setCurrentBrewTimeSeconds(current != null ? current.getBrewTimeSeconds() : null);
+        track.setCurrentVersionUpdatedAt(current != null ? current.getUpdatedAt() : null);
+    }
+
+    // Mirrors the backfill in V14 and RecipeTrackRepository.refreshSearchDocumentsForMethod.
+    static String searchDocument(String title, BrewMethods method, CoffeeBean bean) {
+        return Stream.of(
+                        title,
+                        method.getName(),
+                        bean != null ? bean.getName() : null,
+                        bean != null ? bean.getRoaster() : null,
+                        bean != null ? bean.getOrigin() : null)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "))
+                .toLowerCase(Locale.ROOT);
     }
 
     private CoffeeBean resolveForkBeanForUser(RecipeTrack sourceTrack, UUID userId) {
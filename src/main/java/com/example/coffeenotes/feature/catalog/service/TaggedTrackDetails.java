@@ -0,0 +1,7 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.TrackDetailsResponseDTO;
+
+// A recipe detail with its ETag; details is null when the client's copy is still current.
+public record TaggedTrackDetails(String eTag, TrackDetailsResponseDTO details) {
+}
@@ -0,0 +1,21 @@
+package com.example.coffeenotes.feature.user.repository;
+
+import com.example.coffeenotes.domain.user.UserDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, UUID> {
+    // Oldest request first; served by user_deletion_jobs_pending_idx.
+    @Query("SELECT j.userId FROM UserDeletionJob j WHERE j.completedAt IS NULL ORDER BY j.requestedAt")
+    List<UUID> findPendingUserIds();
+
+    // Locks an unfinished job for the current transaction; empty when it is done or another purge holds the lock.
+    @Query(value = "select * from coffeenotes.user_deletion_jobs " +
+            "where user_id = :userId and completed_at is null for update skip locked", nativeQuery = true)
+    Optional<UserDeletionJob> claimPending(@Param("userId") UUID userId);
+}
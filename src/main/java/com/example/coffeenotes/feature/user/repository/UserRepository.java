@@ -12,7 +12,13 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
+    // True while an account deletion request is waiting to be purged.
+    @Query(value = "select exists (select 1 from coffeenotes.user_deletion_jobs " +
+            "where user_id = :userId and completed_at is null)", nativeQuery = true)
+    boolean isPendingDeletion(@Param("userId") UUID userId);
+
     @Modifying
-    @Query(value = "delete from coffeenotes.media_assets where owner_id = :userId", nativeQuery = true)
-    void deleteMediaAssetsByOwnerId(@Param("userId") UUID userId);
+    @Query(value = "delete from coffeenotes.media_assets where id in " +
+            "(select id from coffeenotes.media_assets where owner_id = :userId limit :limit)", nativeQuery = true)
+    int deleteMediaAssetsByOwnerId(@Param("userId") UUID userId, @Param("limit") int limit);
 }
\ No newline at end of file
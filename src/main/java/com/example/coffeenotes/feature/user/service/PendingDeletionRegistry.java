@@ -0,0 +1,53 @@
+package com.example.coffeenotes.feature.user.service;
+
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
+import com.example.coffeenotes.security.JwtTokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// Accounts waiting to be purged, kept in memory so the JWT check costs no query per request. UserService.deleteUser
+// adds its own requests once they commit; a periodic reload picks up requests made on other instances. Entries only
+// need to outlive the access tokens issued before the request, so they expire after one token lifetime.
+@Component
+public class PendingDeletionRegistry {
+
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final Cache<UUID, Boolean> pending;
+
+    public PendingDeletionRegistry(UserDeletionJobRepository userDeletionJobRepository, JwtTokenService jwtTokenService) {
+        this.userDeletionJobRepository = userDeletionJobRepository;
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(jwtTokenService.getAccessTtlSeconds()))
+                .build();
+    }
+
+    public boolean isPending(UUID userId) {
+        return pending.getIfPresent(userId) != null;
+    }
+
+    public void markPendingAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.put(userId, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.user-deletion.pending-refresh-interval:PT30S}")
+    public void reload() {
+        userDeletionJobRepository.findPendingUserIds().forEach(userId -> pending.put(userId, Boolean.TRUE));
+    }
+}
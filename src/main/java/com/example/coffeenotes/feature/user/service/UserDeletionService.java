@@ -0,0 +1,169 @@
+package com.example.coffeenotes.feature.user.service;
+
+import com.example.coffeenotes.domain.user.UserDeletionJob;
+import com.example.coffeenotes.feature.auth.repository.AuthRefreshSessionRepository;
+import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
+import com.example.coffeenotes.feature.catalog.service.GlobalRecipeListingCache;
+import com.example.coffeenotes.feature.catalog.service.RecipeDetailsCache;
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
+import com.example.coffeenotes.feature.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Purges accounts marked for deletion by UserService.deleteUser. Each batch removes at most batchSize rows of one
+// kind in its own short transaction, children before parents: versions with their pours and equipment, then tracks,
+// beans, media and finally the user. Nothing is remembered between batches except the job counters, so a purge
+// interrupted by a restart simply continues with whatever rows are left, and a job already claimed by another
+// instance is left to that instance.
+@Service
+public class UserDeletionService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final UserRepository userRepository;
+    private final AuthRefreshSessionRepository authRefreshSessionRepository;
+    private final RecipeTrackRepository recipeTrackRepository;
+    private final RecipeVersionRepository recipeVersionRepository;
+    private final RecipeWaterPourRepository recipeWaterPourRepository;
+    private final RecipeEquipmentRepository recipeEquipmentRepository;
+    private final CoffeeBeanRepository coffeeBeanRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final GlobalRecipeListingCache globalRecipeListingCache;
+    private final RecipeDetailsCache recipeDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public UserDeletionService(UserDeletionJobRepository userDeletionJobRepository,
+                               UserRepository userRepository,
+                               AuthRefreshSessionRepository authRefreshSessionRepository,
+                               RecipeTrackRepository recipeTrackRepository,
+                               RecipeVersionRepository recipeVersionRepository,
+                               RecipeWaterPourRepository recipeWaterPourRepository,
+                               RecipeEquipmentRepository recipeEquipmentRepository,
+                               CoffeeBeanRepository coffeeBeanRepository,
+                               RecipeSearchIndex recipeSearchIndex,
+                               GlobalRecipeListingCache globalRecipeListingCache,
+                               RecipeDetailsCache recipeDetailsCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.user-deletion.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.user-deletion.batch-size must be at least 1.");
+        }
+        this.userDeletionJobRepository = userDeletionJobRepository;
+        this.userRepository = userRepository;
+        this.authRefreshSessionRepository = authRefreshSessionRepository;
+        this.recipeTrackRepository = recipeTrackRepository;
+        this.recipeVersionRepository = recipeVersionRepository;
+        this.recipeWaterPourRepository = recipeWaterPourRepository;
+        this.recipeEquipmentRepository = recipeEquipmentRepository;
+        this.coffeeBeanRepository = coffeeBeanRepository;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.globalRecipeListingCache = globalRecipeListingCache;
+        this.recipeDetailsCache = recipeDetailsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // A failing job keeps its error and is retried on the next run; the others still proceed.
+    @Scheduled(initialDelayString = "${app.user-deletion.initial-delay:PT30S}",
+            fixedDelayString = "${app.user-deletion.poll-interval:PT30S}")
+    public void purgePendingDeletions() {
+        for (UUID userId : userDeletionJobRepository.findPendingUserIds()) {
+            try {
+                purge(userId);
+            } catch (RuntimeException e) {
+                recordFailure(userId, e);
+            }
+        }
+    }
+
+    // Runs batches until the user row is gone. Returns the number of batches, the final one included.
+    public int purge(UUID userId) {
+        int batches = 0;
+        boolean more = true;
+        while (more) {
+            List<Runnable> afterCommit = new ArrayList<>();
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeBatch(userId, afterCommit)));
+            // The search index and caches only forget rows once their deletion has committed.
+            afterCommit.forEach(Runnable::run);
+            batches++;
+        }
+        return batches;
+    }
+
+    // One bounded step; true while there is more to delete. The job row stays locked until the batch commits, so
+    // another instance running the same job skips it instead of deleting the same rows at the same time.
+    private boolean purgeBatch(UUID userId, List<Runnable> afterCommit) {
+        UserDeletionJob job = userDeletionJobRepository.claimPending(userId).orElse(null);
+        if (job == null) {
+            return false;
+        }
+        job.setUpdatedAt(LocalDateTime.now());
+
+        List<UUID> versionIds = recipeVersionRepository.findIdsByOwner(userId, Limit.of(batchSize));
+        if (!versionIds.isEmpty()) {
+            recipeWaterPourRepository.bulkDeleteByRecipeVersionIds(versionIds);
+            recipeEquipmentRepository.bulkDeleteByRecipeVersionIds(versionIds);
+            recipeVersionRepository.deleteAllByIdInBatch(versionIds);
+            job.setVersionsDeleted(job.getVersionsDeleted() + versionIds.size());
+            return true;
+        }
+
+        // Favorites of these tracks go with them through ON DELETE CASCADE.
+        List<UUID> trackIds = recipeTrackRepository.findIdsByOwner(userId, Limit.of(batchSize));
+        if (!trackIds.isEmpty()) {
+            if (recipeTrackRepository.existsByIdInAndIsGlobalTrue(trackIds)) {
+                afterCommit.add(globalRecipeListingCache::invalidate);
+            }
+            recipeTrackRepository.deleteAllByIdInBatch(trackIds);
+            afterCommit.add(() -> recipeSearchIndex.removeAll(trackIds));
+            afterCommit.add(() -> recipeDetailsCache.invalidateOwner(userId, List.of()));
+            job.setTracksDeleted(job.getTracksDeleted() + trackIds.size());
+            return true;
+        }
+
+        List<UUID> beanIds = coffeeBeanRepository.findIdsByOwner(userId, Limit.of(batchSize));
+        if (!beanIds.isEmpty()) {
+            coffeeBeanRepository.deleteAllByIdInBatch(beanIds);
+            afterCommit.add(() -> recipeDetailsCache.invalidateOwner(userId, beanIds));
+            job.setBeansDeleted(job.getBeansDeleted() + beanIds.size());
+            return true;
+        }
+
+        int media = userRepository.deleteMediaAssetsByOwnerId(userId, batchSize);
+        if (media > 0) {
+            job.setMediaDeleted(job.getMediaDeleted() + media);
+            return true;
+        }
+
+        // Favorites and equipment preferences of the user cascade with the user row.
+        authRefreshSessionRepository.deleteByUser_Id(userId);
+        userRepository.deleteById(userId);
+        job.setCompletedAt(job.getUpdatedAt());
+        job.setLastError(null);
+        return false;
+    }
+
+    private void recordFailure(UUID userId, RuntimeException e) {
+        transactionTemplate.executeWithoutResult(status -> userDeletionJobRepository.findById(userId).ifPresent(job -> {
+            String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            job.setUpdatedAt(LocalDateTime.now());
+        }));
+    }
+}
@@ -4,16 +4,10 @@ import com.example.coffeenotes.api.dto.user.UpdatePasswordDTO;
 import com.example.coffeenotes.api.dto.user.UpdateRequestDTO;
 import com.example.coffeenotes.api.dto.user.UserReturnDTO;
 import com.example.coffeenotes.domain.auth.AuthRefreshSession;
-import com.example.coffeenotes.domain.catalog.CoffeeBean;
-import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
-import com.example.coffeenotes.domain.catalog.recipe.RecipeVersion;
 import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.domain.user.UserDeletionJob;
 import com.example.coffeenotes.feature.auth.repository.AuthRefreshSessionRepository;
-import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
-import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
-import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
-import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
-import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import com.example.coffeenotes.util.PasswordValidator;
 import jakarta.transaction.Transactional;
@@ -33,11 +27,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthRefreshSessionRepository authRefreshSessionRepository;
-    private final RecipeTrackRepository recipeTrackRepository;
-    private final RecipeVersionRepository recipeVersionRepository;
-    private final RecipeWaterPourRepository recipeWaterPourRepository;
-    private final RecipeEquipmentRepository recipeEquipmentRepository;
-    private final CoffeeBeanRepository coffeeBeanRepository;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final PendingDeletionRegistry pendingDeletionRegistry;
 
     public UserReturnDTO getUser(UUID userId) {
         if(userId == null) {
@@ -127,35 +118,29 @@ public class UserService {
         }
         authRefreshSessionRepository.saveAll(activeSessions);
     }
-     @Transactional
-     public void deleteUser(UUID userId) {
+    // Marks the account for deletion and ends its sessions; UserDeletionService purges the data in the background.
+    // Asking again while the purge is pending changes nothing.
+    @Transactional
+    public void deleteUser(UUID userId) {
         if(userId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Id.");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found."));
-
-        List<RecipeTrack> ownedTracks = recipeTrackRepository.findAllByOwner_Id(userId);
-        List<UUID> trackIds = ownedTracks.stream().map(RecipeTrack::getId).toList();
-
-        if (!trackIds.isEmpty()) {
-            List<RecipeVersion> allVersions = recipeVersionRepository.findByTrack_IdIn(trackIds);
-            List<UUID> versionIds = allVersions.stream().map(RecipeVersion::getId).toList();
-            if (!versionIds.isEmpty()) {
-                recipeWaterPourRepository.deleteByRecipeVersion_IdIn(versionIds);
-                recipeEquipmentRepository.deleteByRecipeVersion_IdIn(versionIds);
-            }
-            recipeVersionRepository.deleteAll(allVersions);
+        if(!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found.");
+        }
+        if(userDeletionJobRepository.existsById(userId)) {
+            return;
         }
 
-        recipeTrackRepository.deleteAll(ownedTracks);
-        List<CoffeeBean> ownedBeans = coffeeBeanRepository.findAllByOwner_Id(userId);
-        coffeeBeanRepository.deleteAll(ownedBeans);
+        LocalDateTime now = LocalDateTime.now();
+        UserDeletionJob job = new UserDeletionJob();
+        job.setUserId(userId);
+        job.setRequestedAt(now);
+        job.setUpdatedAt(now);
+        userDeletionJobRepository.save(job);
+        pendingDeletionRegistry.markPendingAfterCommit(userId);
 
         authRefreshSessionRepository.deleteByUser_Id(userId);
-        userRepository.deleteMediaAssetsByOwnerId(userId);
-        userRepository.delete(user);
-     }
+    }
 }
-
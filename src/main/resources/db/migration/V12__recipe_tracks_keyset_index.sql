@@ -0,0 +1,4 @@
+-- Supports keyset pagination of recipe listings ordered by (updated_at desc, id desc).
+create index if not exists recipe_tracks_updated_at_id_idx
+    on coffeenotes.recipe_tracks (updated_at desc, id desc)
+    where deleted_at is null;
@@ -0,0 +1,26 @@
+-- 1) Denormalize the current version's list fields onto recipe_tracks
+alter table coffeenotes.recipe_tracks
+    add column if not exists current_version_number integer,
+    add column if not exists current_rating integer,
+    add column if not exists current_brew_time_seconds integer,
+    add column if not exists current_version_updated_at timestamp;
+
+-- 2) Backfill from the live current version of each track
+update coffeenotes.recipe_tracks t
+set current_version_number = v.version_number,
+    current_rating = v.rating,
+    current_brew_time_seconds = v.brew_time_seconds,
+    current_version_updated_at = v.updated_at
+from coffeenotes.recipe_versions v
+where v.track_id = t.id
+  and v.is_current = true
+  and v.deleted_at is null;
+
+-- 3) Let rating and brew time filters walk the list order without touching recipe_versions
+create index if not exists recipe_tracks_current_rating_idx
+    on coffeenotes.recipe_tracks (current_rating, updated_at desc, id desc)
+    where deleted_at is null;
+
+create index if not exists recipe_tracks_current_brew_time_idx
+    on coffeenotes.recipe_tracks (current_brew_time_seconds, updated_at desc, id desc)
+    where deleted_at is null;
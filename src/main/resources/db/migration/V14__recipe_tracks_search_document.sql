@@ -0,0 +1,16 @@
+-- 1) Lower-cased search text for the recipe list `q` filter: title, method name and bean name/roaster/origin
+create extension if not exists pg_trgm with schema public;
+
+alter table coffeenotes.recipe_tracks
+    add column if not exists search_document text not null default '';
+
+update coffeenotes.recipe_tracks t
+set search_document = lower(concat_ws(' ',
+        t.title,
+        (select m.name from coffeenotes.brew_methods m where m.id = t.method_id),
+        (select concat_ws(' ', b.name, b.roaster, b.origin) from coffeenotes.coffee_beans b where b.id = t.bean_id)));
+
+-- 2) Trigram index so unanchored LIKE and similarity ranking avoid sequential scans
+create index if not exists recipe_tracks_search_document_trgm_idx
+    on coffeenotes.recipe_tracks using gin (search_document public.gin_trgm_ops)
+    where deleted_at is null;
@@ -0,0 +1,23 @@
+-- 1) Account deletion requests, purged in batches by a background job. A row without completed_at marks the user
+--    as pending deletion; there is no foreign key to users so the record outlives the account it describes.
+create table if not exists coffeenotes.user_deletion_jobs (
+    user_id uuid not null,
+    requested_at timestamp not null,
+    updated_at timestamp not null,
+    completed_at timestamp,
+    versions_deleted bigint not null default 0,
+    tracks_deleted bigint not null default 0,
+    beans_deleted bigint not null default 0,
+    media_deleted bigint not null default 0,
+    attempts integer not null default 0,
+    last_error varchar(1000),
+    constraint user_deletion_jobs_pk primary key (user_id)
+);
+
+create index if not exists user_deletion_jobs_pending_idx
+    on coffeenotes.user_deletion_jobs (requested_at)
+    where completed_at is null;
+
+-- 2) The purge walks a user's beans by owner
+create index if not exists coffee_beans_owner_id_idx
+    on coffeenotes.coffee_beans (owner_id);
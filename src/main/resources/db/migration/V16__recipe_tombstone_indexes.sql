@@ -0,0 +1,9 @@
+-- 1) Lets the retention job find tracks whose tombstone is past the grace period without scanning live rows
+create index if not exists recipe_tracks_deleted_at_idx
+    on coffeenotes.recipe_tracks (deleted_at)
+    where deleted_at is not null;
+
+-- 2) Version history and diff read live versions of one track by number; tombstoned versions stay out of the index
+create index if not exists recipe_versions_live_track_version_idx
+    on coffeenotes.recipe_versions (track_id, version_number desc)
+    where deleted_at is null;
@@ -0,0 +1,24 @@
+-- 1) An owner's live tracks in list order: the private half of mixed listings, the owner arm of visibleTo and
+--    findAllByOwner_IdAndDeletedAtIsNullOrderByUpdatedAtDesc read a page straight off the index and stop at the limit
+create index if not exists recipe_tracks_owner_live_list_idx
+    on coffeenotes.recipe_tracks (owner_id, updated_at desc, id desc)
+    where deleted_at is null;
+
+-- 2) Live global tracks in list order, for the shared listing page and its count
+create index if not exists recipe_tracks_global_live_list_idx
+    on coffeenotes.recipe_tracks (updated_at desc, id desc)
+    where deleted_at is null and is_global = true;
+
+-- 3) Duplicate-track checks on create and import look up (owner, bean, method) among live tracks
+create index if not exists recipe_tracks_owner_bean_method_live_idx
+    on coffeenotes.recipe_tracks (owner_id, bean_id, method_id)
+    where deleted_at is null;
+
+-- 4) Current-version lookups match on is_current alone, which recipe_versions_one_current_uk (partial on
+--    deleted_at is null as well) cannot serve; the included columns let the version stamp read the index only
+create index if not exists recipe_versions_current_idx
+    on coffeenotes.recipe_versions (track_id) include (id, updated_at)
+    where is_current = true;
+
+-- 5) Covered by the leading column of recipe_versions_track_version_uk
+drop index if exists coffeenotes.recipe_versions_track_id_idx;
@@ -0,0 +1,7 @@
+-- 1) Favorites remember when they were added; existing rows get the migration time
+alter table coffeenotes.favorites
+    add column if not exists created_at timestamp not null default now();
+
+-- 2) Keyset pagination of a user's favorites, newest first
+create index if not exists favorites_user_created_idx
+    on coffeenotes.favorites (user_id, created_at desc, recipe_track_id desc);
@@ -1,11 +1,15 @@
 package com.example.coffeenotes.api.controller;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.*;
 import com.example.coffeenotes.config.SecurityConfig;
 import com.example.coffeenotes.feature.catalog.methodpayload.dto.MethodFieldMetadataDTO;
 import com.example.coffeenotes.feature.catalog.methodpayload.dto.MethodPayloadMetadataDTO;
 import com.example.coffeenotes.feature.catalog.service.FavoriteService;
+import com.example.coffeenotes.feature.catalog.service.RecipeExportService;
+import com.example.coffeenotes.feature.catalog.service.RecipeImportService;
 import com.example.coffeenotes.feature.catalog.service.RecipeVersionService;
+import com.example.coffeenotes.feature.catalog.service.TaggedTrackDetails;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
@@ -18,22 +22,41 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RecipeController.class)
@@ -56,6 +79,12 @@ class RecipeControllerTest {
     @MockitoBean
     private FavoriteService favoriteService;
 
+    @MockitoBean
+    private RecipeImportService recipeImportService;
+
+    @MockitoBean
+    private RecipeExportService recipeExportService;
+
     @MockitoBean
     private JwtDecoder jwtDecoder;
 
@@ -65,8 +94,8 @@ class RecipeControllerTest {
         item.setTrackId(TRACK_ID_1);
         item.setTitle("Morning V60");
         item.setFavorite(true);
-        when(recipeService.listRecipes(eq(USER_ID), any(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(item), PageRequest.of(1, 1), 3));
+        when(recipeService.listRecipes(eq(USER_ID), any(), any(Pageable.class), isNull(), eq(true), eq(false)))
+                .thenReturn(PagedResponseDTO.from(new PageImpl<>(List.of(item), PageRequest.of(1, 1), 3)));
 
         mockMvc.perform(get("/api/recipe/getRecipes")
                         .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
@@ -82,6 +111,62 @@ class RecipeControllerTest {
                 .andExpect(jsonPath("$.hasPrevious").value(true));
     }
 
+    @Test
+    void getRecipes_whenAfterCursorProvided_passesCursorAndReturnsNextCursor() throws Exception {
+        TrackSummaryResponseDTO item = new TrackSummaryResponseDTO();
+        item.setTrackId(TRACK_ID_2);
+        PagedResponseDTO<TrackSummaryResponseDTO> response = PagedResponseDTO.from(new PageImpl<>(List.of(item), PageRequest.of(0, 1), 3));
+        response.setHasPrevious(true);
+        response.setNextCursor("next-token");
+        when(recipeService.listRecipes(eq(USER_ID), any(), any(Pageable.class), eq("cursor-token"), eq(true), eq(false)))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/recipe/getRecipes")
+                        .param("after", "cursor-token")
+                        .param("size", "1")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].trackId").value(TRACK_ID_2.toString()))
+                .andExpect(jsonPath("$.hasPrevious").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void getRecipes_whenWithTotalFalse_omitsTotals() throws Exception {
+        TrackSummaryResponseDTO item = new TrackSummaryResponseDTO();
+        item.setTrackId(TRACK_ID_1);
+        PagedResponseDTO<TrackSummaryResponseDTO> response = new PagedResponseDTO<>();
+        response.setItems(List.of(item));
+        response.setSize(1);
+        response.setHasNext(true);
+        when(recipeService.listRecipes(eq(USER_ID), any(), any(Pageable.class), isNull(), eq(false), eq(false)))
+                .thenReturn(response);
+
+        mockMvc.perform(get("/api/recipe/getRecipes")
+                        .param("withTotal", "false")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].trackId").value(TRACK_ID_1.toString()))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void suggestRecipes_returnsSuggestions() throws Exception {
+        when(recipeService.suggestRecipes(eq(USER_ID), any(), eq(5)))
+                .thenReturn(List.of(new RecipeSuggestionDTO(TRACK_ID_1, "Morning V60", "V60", false, LocalDateTime.of(2025, 1, 10, 8, 30))));
+
+        mockMvc.perform(get("/api/recipe/suggest")
+                        .param("q", "morn")
+                        .param("limit", "5")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].trackId").value(TRACK_ID_1.toString()))
+                .andExpect(jsonPath("$[0].title").value("Morning V60"))
+                .andExpect(jsonPath("$[0].methodName").value("V60"));
+    }
+
     @Test
     void createRecipe_returns201() throws Exception {
         RecipeVersionResponseDTO response = versionResponse("New Recipe");
@@ -135,15 +220,226 @@ class RecipeControllerTest {
         TrackDetailsResponseDTO details = new TrackDetailsResponseDTO();
         details.setTrackId(TRACK_ID_1);
         details.setTitle("Track Details");
-        when(recipeService.getRecipe(USER_ID, TRACK_ID_1)).thenReturn(details);
+        stubTaggedRecipe("\"v2\"", details);
 
         mockMvc.perform(get("/api/recipe/getRecipe/" + TRACK_ID_1)
                         .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v2\""))
                 .andExpect(jsonPath("$.trackId").value(TRACK_ID_1.toString()))
                 .andExpect(jsonPath("$.title").value("Track Details"));
     }
 
+    @Test
+    void getRecipe_whenIfNoneMatchIsCurrent_returns304WithoutAssemblingDetails() throws Exception {
+        TrackDetailsResponseDTO details = new TrackDetailsResponseDTO();
+        stubTaggedRecipe("\"v2\"", details);
+
+        mockMvc.perform(get("/api/recipe/getRecipe/" + TRACK_ID_1)
+                        .header("If-None-Match", "\"v2\"")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v2\""))
+                .andExpect(content().string(""));
+
+        verify(recipeService, never()).getRecipe(any(), any());
+    }
+
+    // The export body is written on the async thread; holding it until the first dispatch has left the filter chain
+    // keeps that write from racing the response headers.
+    private static void awaitLatch(CountDownLatch latch) throws InterruptedException {
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    // Mirrors the service: the body is assembled only when the request's validator does not match the ETag.
+    private void stubTaggedRecipe(String eTag, TrackDetailsResponseDTO details) {
+        when(recipeService.getRecipe(eq(USER_ID), eq(TRACK_ID_1), any())).thenAnswer(invocation ->
+                new TaggedTrackDetails(eTag, invocation.<Predicate<String>>getArgument(2).test(eTag) ? null : details));
+    }
+
+    @Test
+    void getRecipeVersions_whenIfNoneMatchIsStale_returns200WithNewETag() throws Exception {
+        VersionHistoryItemDTO item = new VersionHistoryItemDTO();
+        item.setVersionId(VERSION_ID);
+        when(recipeService.getRecipeVersionsETag(USER_ID, TRACK_ID_1)).thenReturn("\"h3\"");
+        when(recipeService.listRecipeVersions(USER_ID, TRACK_ID_1)).thenReturn(List.of(item));
+
+        mockMvc.perform(get("/api/recipe/getRecipeVersions/" + TRACK_ID_1)
+                        .header("If-None-Match", "\"h2\"")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"h3\""))
+                .andExpect(jsonPath("$[0].versionId").value(VERSION_ID.toString()));
+    }
+
+    @Test
+    void getRecipeVersions_whenIfNoneMatchIsCurrent_returns304() throws Exception {
+        when(recipeService.getRecipeVersionsETag(USER_ID, TRACK_ID_1)).thenReturn("\"h3\"");
+
+        mockMvc.perform(get("/api/recipe/getRecipeVersions/" + TRACK_ID_1)
+                        .header("If-None-Match", "\"h3\"")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isNotModified());
+
+        verify(recipeService, never()).listRecipeVersions(any(), any());
+    }
+
+    @Test
+    void getRecipeDiff_returnsFieldPourAndPayloadChanges() throws Exception {
+        WaterPourDTO pour = new WaterPourDTO();
+        pour.setWaterAmountMl(60);
+        pour.setTime("00:00");
+        pour.setOrderIndex(0);
+        RecipeDiffResponseDTO diff = new RecipeDiffResponseDTO();
+        diff.setTrackId(TRACK_ID_1);
+        diff.setFromVersion(1);
+        diff.setToVersion(2);
+        diff.setFields(List.of(new FieldChangeDTO("rating", 3, 5)));
+        diff.setWaterPours(List.of(new WaterPourChangeDTO(0, "added", null, pour)));
+        diff.setMethodPayload(List.of(new MethodPayloadChangeDTO("replace", "/filterShape", "cone", "wave")));
+        when(recipeService.getRecipeDiff(USER_ID, TRACK_ID_1, 1, 2)).thenReturn(diff);
+
+        mockMvc.perform(get("/api/recipe/" + TRACK_ID_1 + "/diff")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fields[0].field").value("rating"))
+                .andExpect(jsonPath("$.fields[0].to").value(5))
+                .andExpect(jsonPath("$.waterPours[0].change").value("added"))
+                .andExpect(jsonPath("$.waterPours[0].to.waterAmountMl").value(60))
+                .andExpect(jsonPath("$.methodPayload[0].path").value("/filterShape"))
+                .andExpect(jsonPath("$.methodPayload[0].from").value("cone"));
+    }
+
+    @Test
+    void getRecipeBatch_returnsPerIdItems() throws Exception {
+        TrackDetailsResponseDTO details = new TrackDetailsResponseDTO();
+        details.setTrackId(TRACK_ID_1);
+        details.setTitle("Track Details");
+        when(recipeService.getRecipeBatch(USER_ID, List.of(TRACK_ID_1, TRACK_ID_2))).thenReturn(List.of(
+                new RecipeBatchItemDTO(TRACK_ID_1, true, details),
+                new RecipeBatchItemDTO(TRACK_ID_2, false, null)));
+
+        mockMvc.perform(post("/api/recipe/batch")
+                        .contentType("application/json")
+                        .content("{\"trackIds\":[\"" + TRACK_ID_1 + "\",\"" + TRACK_ID_2 + "\"]}")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].trackId").value(TRACK_ID_1.toString()))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].recipe.title").value("Track Details"))
+                .andExpect(jsonPath("$[1].trackId").value(TRACK_ID_2.toString()))
+                .andExpect(jsonPath("$[1].found").value(false));
+    }
+
+    @Test
+    void importRecipes_streamsNdjsonBodyToService() throws Exception {
+        RecipeImportResultDTO result = new RecipeImportResultDTO();
+        result.setImported(1);
+        result.setFailed(1);
+        result.getErrors().add(new RecipeImportErrorDTO(2, "Method not found"));
+        when(recipeImportService.importRecipes(eq(USER_ID), any(InputStream.class))).thenAnswer(invocation -> {
+            String body = new String(invocation.<InputStream>getArgument(1).readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(2, body.lines().count());
+            return result;
+        });
+
+        mockMvc.perform(post("/api/recipe/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"One\"}\n{\"title\":\"Two\"}\n")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Method not found"));
+    }
+
+    @Test
+    void exportRecipes_streamsNdjsonAttachment() throws Exception {
+        CountDownLatch firstDispatchDone = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            awaitLatch(firstDispatchDone);
+            invocation.<OutputStream>getArgument(2).write("{\"title\":\"One\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(recipeExportService).exportRecipes(eq(USER_ID), eq(false), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/api/recipe/export")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        firstDispatchDone.countDown();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"recipes.ndjson\""))
+                .andExpect(content().string("{\"title\":\"One\"}\n"));
+    }
+
+    @Test
+    void exportRecipes_whenGzipRequested_compressesJsonArray() throws Exception {
+        CountDownLatch firstDispatchDone = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            awaitLatch(firstDispatchDone);
+            invocation.<OutputStream>getArgument(2).write("[{\"title\":\"One\"}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(recipeExportService).exportRecipes(eq(USER_ID), eq(true), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/api/recipe/export")
+                        .param("format", "json")
+                        .param("gzip", "true")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        firstDispatchDone.countDown();
+
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream unzipped = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("[{\"title\":\"One\"}]", new String(unzipped.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportRecipes_whenFormatUnknown_returns400() throws Exception {
+        mockMvc.perform(get("/api/recipe/export")
+                        .param("format", "csv")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isBadRequest());
+
+        verify(recipeExportService, never()).exportRecipes(any(), anyBoolean(), any());
+    }
+
+    @Test
+    void getRecipeVersionPage_passesCursorAndReturnsNextCursor() throws Exception {
+        VersionHistoryItemDTO item = new VersionHistoryItemDTO();
+        item.setVersionId(VERSION_ID);
+        item.setVersionNumber(7);
+        PagedResponseDTO<VersionHistoryItemDTO> page = new PagedResponseDTO<>();
+        page.setItems(List.of(item));
+        page.setSize(1);
+        page.setHasNext(true);
+        page.setHasPrevious(true);
+        page.setNextCursor("7");
+        when(recipeService.getRecipeVersionsETag(USER_ID, TRACK_ID_1)).thenReturn("\"h7\"");
+        when(recipeService.listRecipeVersions(USER_ID, TRACK_ID_1, 1, "8")).thenReturn(page);
+
+        mockMvc.perform(get("/api/recipe/" + TRACK_ID_1 + "/versions")
+                        .param("size", "1")
+                        .param("after", "8")
+                        .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"h7\""))
+                .andExpect(jsonPath("$.items[0].versionNumber").value(7))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("7"));
+    }
+
     @Test
     void getRecipeVersions_returns200() throws Exception {
         VersionHistoryItemDTO item = new VersionHistoryItemDTO();
@@ -187,22 +483,32 @@ class RecipeControllerTest {
     }
 
     @Test
-    void listFavorites_returnsDtos() throws Exception {
+    void listFavorites_returnsPage() throws Exception {
         TrackSummaryResponseDTO item = new TrackSummaryResponseDTO();
         item.setTrackId(TRACK_ID_2);
         item.setTitle("Favorite AeroPress");
         item.setFavorite(true);
         item.setCurrentVersionNumber(3);
 
-        when(favoriteService.listFavoriteRecipes(USER_ID)).thenReturn(List.of(item));
+        PagedResponseDTO<TrackSummaryResponseDTO> page = new PagedResponseDTO<>();
+        page.setItems(List.of(item));
+        page.setSize(5);
+        page.setHasNext(true);
+        page.setNextCursor("next");
+
+        when(favoriteService.listFavoriteRecipes(USER_ID, 5, "cursor")).thenReturn(page);
 
         mockMvc.perform(get("/api/recipe/favorites")
+                        .param("size", "5")
+                        .param("after", "cursor")
                         .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].trackId").value(TRACK_ID_2.toString()))
-                .andExpect(jsonPath("$[0].title").value("Favorite AeroPress"))
-                .andExpect(jsonPath("$[0].favorite").value(true))
-                .andExpect(jsonPath("$[0].currentVersionNumber").value(3));
+                .andExpect(jsonPath("$.items[0].trackId").value(TRACK_ID_2.toString()))
+                .andExpect(jsonPath("$.items[0].title").value("Favorite AeroPress"))
+                .andExpect(jsonPath("$.items[0].favorite").value(true))
+                .andExpect(jsonPath("$.items[0].currentVersionNumber").value(3))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
@@ -234,7 +540,7 @@ class RecipeControllerTest {
 
     @Test
     void listFavorites_whenServiceThrowsUnexpectedException_returnsStandardErrorBody() throws Exception {
-        when(favoriteService.listFavoriteRecipes(USER_ID)).thenThrow(new RuntimeException("boom"));
+        when(favoriteService.listFavoriteRecipes(USER_ID, 20, null)).thenThrow(new RuntimeException("boom"));
 
         mockMvc.perform(get("/api/recipe/favorites")
                         .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
@@ -100,10 +100,10 @@ class UserControllerTest {
     }
 
     @Test
-    void deleteUser_returns204AndClearsCookie() throws Exception {
+    void deleteUser_returns202AndClearsCookie() throws Exception {
         mockMvc.perform(delete("/api/user/deleteUser")
                         .with(jwt().jwt(token -> token.subject(USER_ID.toString()))))
-                .andExpect(status().isNoContent())
+                .andExpect(status().isAccepted())
                 .andExpect(header().string("Set-Cookie", containsString("refresh_token=")))
                 .andExpect(header().string("Set-Cookie", containsString("Max-Age=0")));
 
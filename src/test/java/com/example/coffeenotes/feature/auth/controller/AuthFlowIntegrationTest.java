@@ -4,7 +4,9 @@ import com.example.coffeenotes.domain.auth.AuthRefreshSession;
 import com.example.coffeenotes.domain.user.User;
 import com.example.coffeenotes.feature.auth.repository.AuthRefreshSessionRepository;
 import com.example.coffeenotes.feature.auth.service.RefreshTokenService;
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
+import com.example.coffeenotes.feature.user.service.UserDeletionService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
@@ -53,6 +55,12 @@ class AuthFlowIntegrationTest {
     @Autowired
     private RefreshTokenService refreshTokenService;
 
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
     @Autowired
     private JwtDecoder jwtDecoder;
 
@@ -377,11 +385,11 @@ class AuthFlowIntegrationTest {
 
         mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete("/api/user/deleteUser")
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
-                .andExpect(status().isNoContent())
+                .andExpect(status().isAccepted())
                 .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("refresh_token=")))
                 .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("Max-Age=0")));
 
-        assertTrue(userRepository.findByEmail(email).isEmpty());
+        assertTrue(userRepository.isPendingDeletion(user.getId()));
         long remainingSessions = authRefreshSessionRepository.findAll().stream()
                 .filter(session -> session.getUser().getId().equals(user.getId()))
                 .count();
@@ -410,8 +418,17 @@ class AuthFlowIntegrationTest {
 
         mockMvc.perform(get("/api/user/getUser")
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
-                .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.message").value("User not found"));
+                .andExpect(status().isUnauthorized());
+
+        userDeletionService.purge(user.getId());
+        assertTrue(userRepository.findByEmail(email).isEmpty());
+        assertNotNull(userDeletionJobRepository.findById(user.getId()).orElseThrow().getCompletedAt());
+        userDeletionJobRepository.deleteById(user.getId());
+
+        // The account stays refused in memory until tokens issued before the request have expired.
+        mockMvc.perform(get("/api/user/getUser")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
     }
 
     private String extractCookieValue(String setCookieHeader, String cookieName) {
@@ -215,6 +215,30 @@ class AuthServiceTest {
         assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
     }
 
+    @Test
+    void login_whenAccountPendingDeletion_throws401WithoutIssuingTokens() {
+        LoginRequestDTO body = loginRequest("test@coffee.com", "Strong@123");
+        User user = new User(
+                USER_ID,
+                "test@coffee.com",
+                "hashed",
+                "Patri",
+                Role.USER,
+                LocalDateTime.now(),
+                LocalDateTime.now()
+        );
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(null);
+        when(userRepository.findByEmail("test@coffee.com")).thenReturn(Optional.of(user));
+        when(userRepository.isPendingDeletion(USER_ID)).thenReturn(true);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> authService.login(body));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verify(jwtTokenService, never()).generateAccessToken(any());
+        verify(authRefreshSessionRepository, never()).save(any());
+    }
+
     @Test
     void login_whenValid_usesNormalizedEmailForAuthentication() {
         LoginRequestDTO body = loginRequest("  Test@Coffee.com ", "Strong@123");
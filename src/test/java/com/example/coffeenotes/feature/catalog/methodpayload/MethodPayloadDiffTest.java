@@ -0,0 +1,98 @@
+package com.example.coffeenotes.feature.catalog.methodpayload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodPayloadDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_whenEqual_returnsNoChanges() throws Exception {
+        JsonNode payload = objectMapper.readTree("{\"filterShape\":\"cone\",\"steps\":[1,2]}");
+
+        assertTrue(MethodPayloadDiff.diff(payload, payload.deepCopy()).isEmpty());
+    }
+
+    @Test
+    void diff_objects_reportsRemovedReplacedAndAddedFieldsWithPointerPaths() throws Exception {
+        JsonNode from = objectMapper.readTree("{\"filterShape\":\"cone\",\"agitation\":\"swirl\",\"dripper\":{\"model\":\"V60\"}}");
+        JsonNode to = objectMapper.readTree("{\"filterShape\":\"wave\",\"dripper\":{\"model\":\"V60\",\"size\":\"02\"},\"a/b~c\":1}");
+
+        List<MethodPayloadDiff.Change> changes = MethodPayloadDiff.diff(from, to);
+
+        assertEquals(List.of(
+                new MethodPayloadDiff.Change("replace", "/filterShape", from.get("filterShape"), to.get("filterShape")),
+                new MethodPayloadDiff.Change("remove", "/agitation", from.get("agitation"), null),
+                new MethodPayloadDiff.Change("add", "/dripper/size", null, to.get("dripper").get("size")),
+                new MethodPayloadDiff.Change("add", "/a~1b~0c", null, to.get("a/b~c"))
+        ), changes);
+    }
+
+    @Test
+    void diff_arrays_comparesByIndexAndReportsTailAddsAndRemoves() throws Exception {
+        JsonNode from = objectMapper.readTree("{\"steps\":[10,20,30]}");
+        JsonNode to = objectMapper.readTree("{\"steps\":[10,25]}");
+        JsonNode longer = objectMapper.readTree("{\"steps\":[10,20,30,40]}");
+
+        assertEquals(List.of("replace /steps/1", "remove /steps/2"), describe(MethodPayloadDiff.diff(from, to)));
+        assertEquals(List.of("add /steps/3"), describe(MethodPayloadDiff.diff(from, longer)));
+    }
+
+    @Test
+    void diff_arrays_removesSeveralTailElementsHighestIndexFirst() throws Exception {
+        JsonNode from = objectMapper.readTree("{\"steps\":[10,20,30,40]}");
+        JsonNode to = objectMapper.readTree("{\"steps\":[10,20]}");
+
+        List<MethodPayloadDiff.Change> changes = MethodPayloadDiff.diff(from, to);
+
+        assertEquals(List.of("remove /steps/3", "remove /steps/2"), describe(changes));
+        // Applied in order, as a JSON Patch would be, the removes turn from into to.
+        ArrayNode steps = (ArrayNode) from.deepCopy().get("steps");
+        for (MethodPayloadDiff.Change change : changes) {
+            steps.remove(Integer.parseInt(change.path().substring("/steps/".length())));
+        }
+        assertEquals(to.get("steps"), steps);
+    }
+
+    @Test
+    void diff_whenNodeTypeChanges_replacesTheWholeNode() throws Exception {
+        JsonNode from = objectMapper.readTree("{\"ratio\":{\"coffee\":1,\"water\":16}}");
+        JsonNode to = objectMapper.readTree("{\"ratio\":\"1:16\"}");
+
+        assertEquals(List.of("replace /ratio"), describe(MethodPayloadDiff.diff(from, to)));
+    }
+
+    // Guards against quadratic behaviour: a 50k-field object and a 50k-element array with every tenth value changed.
+    @Test
+    void diff_largePayload_staysLinear() {
+        ObjectNode from = objectMapper.createObjectNode();
+        ObjectNode to = objectMapper.createObjectNode();
+        ArrayNode fromSteps = from.putArray("steps");
+        ArrayNode toSteps = to.putArray("steps");
+        for (int i = 0; i < 50_000; i++) {
+            from.put("field" + i, i);
+            to.put("field" + i, i % 10 == 0 ? -i - 1 : i);
+            fromSteps.addObject().put("index", i).put("water", 50);
+            toSteps.addObject().put("index", i).put("water", i % 10 == 0 ? 60 : 50);
+        }
+
+        long started = System.nanoTime();
+        List<MethodPayloadDiff.Change> changes = MethodPayloadDiff.diff(from, to);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(10_000, changes.size());
+        assertTrue(elapsedMillis < 2_000, "diff of large payload took " + elapsedMillis + " ms");
+    }
+
+    private static List<String> describe(List<MethodPayloadDiff.Change> changes) {
+        return changes.stream().map(change -> change.op() + " " + change.path()).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.coffeenotes.feature.catalog.repository.recipe;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Plans the SQL of the hot recipe queries with sequential scans disabled, so the test database's size does not
+// matter: each query must be answerable by the index designed for it, not merely by some index.
+@SpringBootTest
+@Transactional
+class RecipeAccessPathIndexIntegrationTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        entityManager.createNativeQuery("set local enable_seqscan = off").executeUpdate();
+    }
+
+    @Test
+    void ownLiveTracksPage_scansOwnerListIndexInOrder() {
+        String plan = explain("SELECT t.id FROM coffeenotes.recipe_tracks t " +
+                "WHERE t.deleted_at IS NULL AND t.owner_id = :ownerId AND t.is_global = false " +
+                "ORDER BY t.updated_at DESC, t.id DESC LIMIT 21", Map.of("ownerId", ID));
+
+        assertIndexScan(plan, "recipe_tracks_owner_live_list_idx");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void sharedTracksPage_scansGlobalListIndexInOrder() {
+        String plan = explain("SELECT t.id FROM coffeenotes.recipe_tracks t " +
+                "WHERE t.deleted_at IS NULL AND t.is_global = true " +
+                "ORDER BY t.updated_at DESC, t.id DESC LIMIT 21", Map.of());
+
+        assertIndexScan(plan, "recipe_tracks_global_live_list_idx");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void findByTrack_IdAndIsCurrentTrue_scansCurrentVersionIndex() {
+        String plan = explain("SELECT v.id FROM coffeenotes.recipe_versions v " +
+                "WHERE v.track_id = :trackId AND v.is_current = true", Map.of("trackId", ID));
+
+        assertIndexScan(plan, "recipe_versions_current_idx");
+    }
+
+    @Test
+    void versionStamp_readsCurrentVersionFromIndexOnly() {
+        String plan = explain("SELECT t.owner_id, t.is_global, t.updated_at, m.name, v.id, v.updated_at " +
+                "FROM coffeenotes.recipe_tracks t JOIN coffeenotes.brew_methods m ON m.id = t.method_id " +
+                "LEFT JOIN coffeenotes.recipe_versions v ON v.track_id = t.id AND v.is_current = true " +
+                "WHERE t.id = :trackId AND t.deleted_at IS NULL", Map.of("trackId", ID));
+
+        assertTrue(plan.contains("Index Only Scan using recipe_versions_current_idx"), plan);
+    }
+
+    @Test
+    void findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull_scansOwnerBeanMethodIndex() {
+        String plan = explain("SELECT t.id FROM coffeenotes.recipe_tracks t " +
+                "WHERE t.owner_id = :ownerId AND t.bean_id = :beanId AND t.method_id = :methodId " +
+                "AND t.deleted_at IS NULL", Map.of("ownerId", ID, "beanId", ID, "methodId", ID));
+
+        assertIndexScan(plan, "recipe_tracks_owner_bean_method_live_idx");
+    }
+
+    @Test
+    void favoritesPage_scansUserCreatedIndexFromTheCursorInOrder() {
+        // Without statistics the planner may prefer a bitmap scan plus sort; with both disabled a Sort node can only
+        // remain when no index yields the page order.
+        entityManager.createNativeQuery("set local enable_bitmapscan = off").executeUpdate();
+        entityManager.createNativeQuery("set local enable_sort = off").executeUpdate();
+        String plan = explain("SELECT f.recipe_track_id, t.title FROM coffeenotes.favorites f " +
+                "JOIN coffeenotes.recipe_tracks t ON t.id = f.recipe_track_id " +
+                "WHERE f.user_id = :userId AND t.deleted_at IS NULL AND (t.is_global = true OR t.owner_id = :userId) " +
+                "AND (f.created_at, f.recipe_track_id) < (now(), :trackId) " +
+                "ORDER BY f.created_at DESC, f.recipe_track_id DESC LIMIT 21", Map.of("userId", ID, "trackId", ID));
+
+        assertIndexScan(plan, "favorites_user_created_idx");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    private String explain(String sql, Map<String, Object> parameters) {
+        Query query = entityManager.createNativeQuery("EXPLAIN " + sql);
+        parameters.forEach(query::setParameter);
+        List<?> lines = query.getResultList();
+        return lines.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+
+    private static void assertIndexScan(String plan, String index) {
+        assertTrue(plan.contains("Index Scan using " + index)
+                || plan.contains("Index Only Scan using " + index)
+                || plan.contains("Bitmap Index Scan on " + index), plan);
+    }
+}
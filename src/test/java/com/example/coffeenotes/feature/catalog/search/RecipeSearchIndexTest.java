@@ -0,0 +1,202 @@
+package com.example.coffeenotes.feature.catalog.search;
+
+import com.example.coffeenotes.api.dto.recipe.RecipeSuggestionDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeSearchIndexTest {
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID OTHER_USER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Mock
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Test
+    void suggest_matchesEveryQueryTokenAsPrefixWithinVisibleTracksNewestFirst() {
+        RecipeTrack ownOld = track(USER_ID, false, "Kenya Morning", "kenya morning v60 april", 1);
+        RecipeTrack ownNew = track(USER_ID, false, "Kenyan Evening", "kenyan evening v60", 2);
+        RecipeTrack global = track(OTHER_USER_ID, true, "Kenya Shared", "kenya shared aeropress", 3);
+        RecipeTrack hidden = track(OTHER_USER_ID, false, "Kenya Private", "kenya private v60", 4);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(ownOld, ownNew, global, hidden));
+
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(global.getId(), ownNew.getId(), ownOld.getId()), trackIds(index.suggest(USER_ID, "ken", 10)));
+        assertEquals(List.of(ownNew.getId(), ownOld.getId()), trackIds(index.suggest(USER_ID, "KEN v6", 10)));
+        assertEquals(List.of(global.getId()), trackIds(index.suggest(USER_ID, "ken", 1)));
+        assertEquals(List.of(), trackIds(index.suggest(USER_ID, "kenya private", 10)));
+        assertEquals(List.of(), trackIds(index.suggest(USER_ID, "  ", 10)));
+    }
+
+    @Test
+    void indexAndRemove_updateSuggestionsIncrementally() {
+        RecipeTrack track = track(USER_ID, false, "Colombia", "colombia v60", 1);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(track));
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        index.rebuild();
+
+        track.setTitle("Ethiopia");
+        track.setSearchDocument("ethiopia v60");
+        index.index(track);
+
+        assertEquals(List.of(), trackIds(index.suggest(USER_ID, "colo", 10)));
+        List<RecipeSuggestionDTO> renamed = index.suggest(USER_ID, "eth", 10);
+        assertEquals(List.of(track.getId()), trackIds(renamed));
+        assertEquals("Ethiopia", renamed.get(0).getTitle());
+        assertEquals("V60", renamed.get(0).getMethodName());
+
+        RecipeTrack added = track(USER_ID, false, "Ethiopia Iced", "ethiopia iced v60", 2);
+        index.index(added);
+        assertEquals(List.of(added.getId(), track.getId()), trackIds(index.suggest(USER_ID, "eth", 10)));
+
+        index.remove(track);
+        assertEquals(List.of(added.getId()), trackIds(index.suggest(USER_ID, "eth", 10)));
+    }
+
+    @Test
+    void index_reusesOrdinalsFreedByUpdatesAndRemovals() {
+        RecipeTrack track = track(USER_ID, false, "Colombia", "colombia v60", 1);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(track));
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        index.rebuild();
+
+        for (int i = 0; i < 100; i++) {
+            track.setSearchDocument("colombia v60 edit" + i);
+            index.index(track);
+        }
+        index.remove(track);
+        RecipeTrack added = track(USER_ID, false, "Ethiopia", "ethiopia v60", 2);
+        index.index(added);
+
+        assertEquals(1, index.ordinalCapacity());
+        assertEquals(List.of(added.getId()), trackIds(index.suggest(USER_ID, "v60", 10)));
+    }
+
+    @Test
+    void rebuild_replaysChangesCommittedWhileLoading() {
+        RecipeTrack stale = track(USER_ID, false, "Colombia", "colombia v60", 1);
+        RecipeTrack created = track(USER_ID, false, "Ethiopia", "ethiopia v60", 2);
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenAnswer(invocation -> {
+            index.index(created);
+            index.remove(stale);
+            return List.of(stale);
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(created.getId()), trackIds(index.suggest(USER_ID, "v60", 10)));
+    }
+
+    @Test
+    void index_ordersByUpdatedAtStampedAtFlush() {
+        RecipeTrack older = track(USER_ID, false, "Colombia", "colombia v60", 1);
+        RecipeTrack edited = track(USER_ID, false, "Ethiopia", "ethiopia v60", 2);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(older, edited));
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        index.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            older.setSearchDocument("colombia v60 washed");
+            index.index(older);
+            older.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 9, 0));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(older.getId(), edited.getId()), trackIds(index.suggest(USER_ID, "v60", 10)));
+    }
+
+    @Test
+    void suggest_keepsTheNewestMatchesWhenMoreThanTheLimitMatch() {
+        List<RecipeTrack> tracks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tracks.add(track(USER_ID, false, "Brew " + i, "brew v60", (i * 7) % 20));
+        }
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(tracks);
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, true);
+        index.rebuild();
+
+        List<UUID> expected = tracks.stream()
+                .sorted(Comparator.comparing(RecipeTrack::getUpdatedAt).reversed())
+                .limit(3)
+                .map(RecipeTrack::getId)
+                .toList();
+        assertEquals(expected, trackIds(index.suggest(USER_ID, "brew", 3)));
+        assertEquals(List.of(), trackIds(index.suggest(USER_ID, "brew", 0)));
+    }
+
+    @Test
+    void rebuildAfterCommit_handsTheReloadToTheExecutorOnceCommitted() {
+        RecipeTrack track = track(USER_ID, false, "Colombia", "colombia v60", 1);
+        when(recipeTrackRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(track));
+        List<Runnable> submitted = new ArrayList<>();
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, submitted::add, true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.rebuildAfterCommit();
+            assertTrue(submitted.isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, submitted.size());
+        assertFalse(index.isReady());
+        submitted.get(0).run();
+        assertEquals(List.of(track.getId()), trackIds(index.suggest(USER_ID, "colombia", 10)));
+    }
+
+    @Test
+    void rebuild_whenDisabled_staysNotReadyAndSkipsRepository() {
+        RecipeSearchIndex index = new RecipeSearchIndex(recipeTrackRepository, Runnable::run, false);
+
+        index.rebuild();
+
+        assertFalse(index.isReady());
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    private RecipeTrack track(UUID ownerId, boolean global, String title, String searchDocument, int minutes) {
+        User owner = new User();
+        owner.setId(ownerId);
+        BrewMethods method = new BrewMethods(UUID.randomUUID(), "V60", "Cone dripper");
+        RecipeTrack track = new RecipeTrack();
+        track.setId(UUID.randomUUID());
+        track.setOwner(owner);
+        track.setMethod(method);
+        track.setGlobal(global);
+        track.setTitle(title);
+        track.setSearchDocument(searchDocument);
+        track.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusMinutes(minutes));
+        return track;
+    }
+
+    private List<UUID> trackIds(List<RecipeSuggestionDTO> suggestions) {
+        return suggestions.stream().map(RecipeSuggestionDTO::getTrackId).toList();
+    }
+}
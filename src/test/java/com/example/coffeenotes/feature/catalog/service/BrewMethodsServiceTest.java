@@ -3,6 +3,8 @@ package com.example.coffeenotes.feature.catalog.service;
 import com.example.coffeenotes.api.dto.catalog.BrewMethodsDTO;
 import com.example.coffeenotes.domain.catalog.BrewMethods;
 import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -30,6 +32,18 @@ class BrewMethodsServiceTest {
     @Mock
     private BrewMethodsRepository brewMethodsRepository;
 
+    @Mock
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private GlobalRecipeListingCache globalRecipeListingCache;
+
+    @Mock
+    private RecipeDetailsCache recipeDetailsCache;
+
     @InjectMocks
     private BrewMethodsService brewMethodsService;
 
@@ -76,6 +90,10 @@ class BrewMethodsServiceTest {
         verify(brewMethodsRepository).save(captor.capture());
         assertEquals("Kalita Wave", captor.getValue().getName());
         assertEquals("Cone dripper", captor.getValue().getDescription());
+        verify(recipeTrackRepository).refreshSearchDocumentsForMethod(ID_1);
+        verify(recipeSearchIndex).rebuildAfterCommit();
+        verify(globalRecipeListingCache).invalidate();
+        verify(recipeDetailsCache).invalidateMethod(ID_1);
     }
 
     @Test
@@ -92,6 +110,7 @@ class BrewMethodsServiceTest {
         assertEquals("V60", updated.getName());
         assertEquals("Flat-bottom dripper", updated.getDescription());
         verify(brewMethodsRepository).save(any());
+        verify(recipeTrackRepository, never()).refreshSearchDocumentsForMethod(any());
     }
 
     @Test
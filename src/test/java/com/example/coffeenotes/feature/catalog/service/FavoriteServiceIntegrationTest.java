@@ -1,5 +1,6 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
 import com.example.coffeenotes.api.dto.recipe.FavoriteResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.TrackSummaryResponseDTO;
@@ -13,13 +14,18 @@ import com.example.coffeenotes.domain.user.User;
 import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
 import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
 import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
+import com.example.coffeenotes.feature.catalog.repository.FavoriteTrackView;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +56,9 @@ class FavoriteServiceIntegrationTest {
     @Autowired
     private BrewMethodsRepository brewMethodsRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void addFavorite_andRemoveFavorite_areIdempotentAgainstPersistedRows() {
         User viewer = persistedUser();
@@ -65,14 +74,14 @@ class FavoriteServiceIntegrationTest {
         FavoriteResponseDTO firstAdd = favoriteService.addFavorite(viewer.getId(), trackId);
         FavoriteResponseDTO secondAdd = favoriteService.addFavorite(viewer.getId(), trackId);
 
-        List<Favorite> persistedAfterAdd = favoriteRepository.findByUser_Id(viewer.getId());
+        List<FavoriteTrackView> persistedAfterAdd = favoriteRepository.findFavoriteTracks(viewer.getId(), Limit.unlimited());
 
         assertTrue(firstAdd.isFavorite());
         assertTrue(secondAdd.isFavorite());
         assertEquals(trackId, firstAdd.getTrackId());
         assertEquals(trackId, secondAdd.getTrackId());
         assertEquals(1, persistedAfterAdd.size());
-        assertEquals(trackId, persistedAfterAdd.get(0).getRecipeTrack().getId());
+        assertEquals(trackId, persistedAfterAdd.get(0).trackId());
 
         FavoriteResponseDTO firstRemove = favoriteService.removeFavorite(viewer.getId(), trackId);
         FavoriteResponseDTO secondRemove = favoriteService.removeFavorite(viewer.getId(), trackId);
@@ -81,7 +90,7 @@ class FavoriteServiceIntegrationTest {
         assertFalse(secondRemove.isFavorite());
         assertEquals(trackId, firstRemove.getTrackId());
         assertEquals(trackId, secondRemove.getTrackId());
-        assertTrue(favoriteRepository.findByUser_Id(viewer.getId()).isEmpty());
+        assertTrue(favoriteRepository.findFavoriteTracks(viewer.getId(), Limit.unlimited()).isEmpty());
     }
 
     @Test
@@ -122,14 +131,55 @@ class FavoriteServiceIntegrationTest {
 
         recipeVersionService.deleteRecipe(owner.getId(), deletedGlobalTrackId);
 
-        List<TrackSummaryResponseDTO> favorites = favoriteService.listFavoriteRecipes(viewer.getId());
+        List<TrackSummaryResponseDTO> favorites = favoriteService.listFavoriteRecipes(viewer.getId(), 20, null).getItems();
 
         assertEquals(1, favorites.size());
         assertEquals(ownTrackId, favorites.get(0).getTrackId());
         assertEquals("Own Favorite", favorites.get(0).getTitle());
+        assertEquals(viewerBean.getId(), favorites.get(0).getBeanId());
+        assertEquals(viewerBean.getName(), favorites.get(0).getBeanName());
+        assertEquals("V60", favorites.get(0).getMethodName());
+        assertEquals(1, favorites.get(0).getCurrentVersionNumber());
         assertTrue(favorites.get(0).isFavorite());
     }
 
+    @Test
+    void listFavoriteRecipes_pagesNewestFavoriteFirstWithCursor() {
+        User viewer = persistedUser();
+        BrewMethods method = persistedMethod("V60");
+        List<UUID> trackIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UUID trackId = recipeVersionService.createRecipe(viewer.getId(),
+                    createTrackRequest(null, method.getId(), "Paged " + i, false, "{\"filterShape\":\"cone\"}")).getTrackId();
+            favoriteService.addFavorite(viewer.getId(), trackId);
+            trackIds.add(trackId);
+        }
+        entityManager.flush();
+        // Favorited an hour apart, oldest first, so the expected order does not depend on clock resolution.
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < trackIds.size(); i++) {
+            entityManager.createNativeQuery("update coffeenotes.favorites set created_at = :createdAt " +
+                            "where user_id = :userId and recipe_track_id = :trackId")
+                    .setParameter("createdAt", base.plusHours(i))
+                    .setParameter("userId", viewer.getId())
+                    .setParameter("trackId", trackIds.get(i))
+                    .executeUpdate();
+        }
+        entityManager.clear();
+
+        PagedResponseDTO<TrackSummaryResponseDTO> first = favoriteService.listFavoriteRecipes(viewer.getId(), 2, null);
+        PagedResponseDTO<TrackSummaryResponseDTO> second = favoriteService.listFavoriteRecipes(viewer.getId(), 2, first.getNextCursor());
+
+        assertEquals(List.of(trackIds.get(2), trackIds.get(1)),
+                first.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertTrue(first.isHasNext());
+        assertEquals(List.of(trackIds.get(0)),
+                second.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertFalse(second.isHasNext());
+        assertTrue(second.isHasPrevious());
+        assertNull(second.getNextCursor());
+    }
+
     private User persistedUser() {
         User user = new User();
         user.setEmail("integration-favorite-" + UUID.randomUUID() + "@coffee.test");
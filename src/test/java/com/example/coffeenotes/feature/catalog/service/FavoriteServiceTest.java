@@ -1,15 +1,16 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.FavoriteResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.TrackSummaryResponseDTO;
 import com.example.coffeenotes.domain.catalog.BrewMethods;
 import com.example.coffeenotes.domain.catalog.CoffeeBean;
 import com.example.coffeenotes.domain.catalog.Favorite;
-import com.example.coffeenotes.domain.catalog.FavoriteId;
 import com.example.coffeenotes.domain.catalog.Role;
 import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
 import com.example.coffeenotes.domain.user.User;
 import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
+import com.example.coffeenotes.feature.catalog.repository.FavoriteTrackView;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -28,6 +30,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -182,54 +185,78 @@ class FavoriteServiceTest {
     void listFavoriteRecipes_whenUserIdNull_throws400() {
         ResponseStatusException ex = assertThrows(
                 ResponseStatusException.class,
-                () -> favoriteService.listFavoriteRecipes(null)
+                () -> favoriteService.listFavoriteRecipes(null, 20, null)
         );
 
         assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
     }
 
     @Test
-    void listFavoriteRecipes_whenValid_returnsOnlyVisibleActiveTracks() {
-        User owner = user(USER_ID, "owner@test.com");
-        User other = user(OTHER_USER_ID, "other@test.com");
-
-        RecipeTrack visibleOwn = track(TRACK_ID, owner, "Own Favorite", false, null);
-        RecipeTrack visibleGlobal = track(UUID.randomUUID(), other, "Global Favorite", true, null);
-        RecipeTrack hidden = track(UUID.randomUUID(), other, "Hidden Favorite", false, null);
-        RecipeTrack deleted = track(UUID.randomUUID(), owner, "Deleted Favorite", false, LocalDateTime.now());
-
-        when(favoriteRepository.findByUser_Id(USER_ID)).thenReturn(List.of(
-                favorite(owner, visibleOwn),
-                favorite(owner, visibleGlobal),
-                favorite(owner, hidden),
-                favorite(owner, deleted)
-        ));
-
-        List<TrackSummaryResponseDTO> out = favoriteService.listFavoriteRecipes(USER_ID);
+    void listFavoriteRecipes_whenSizeOutOfRange_throws400() {
+        ResponseStatusException ex = assertThrows(
+                ResponseStatusException.class,
+                () -> favoriteService.listFavoriteRecipes(USER_ID, 101, null)
+        );
 
-        assertEquals(2, out.size());
-        assertTrue(out.stream().anyMatch(dto -> dto.getTrackId().equals(visibleOwn.getId()) && dto.isFavorite()));
-        assertTrue(out.stream().anyMatch(dto -> dto.getTrackId().equals(visibleGlobal.getId()) && dto.isFavorite()));
-        assertFalse(out.stream().anyMatch(dto -> dto.getTrackId().equals(hidden.getId())));
-        assertFalse(out.stream().anyMatch(dto -> dto.getTrackId().equals(deleted.getId())));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verify(favoriteRepository, never()).findFavoriteTracks(any(), any());
     }
 
     @Test
-    void listFavoriteRecipes_whenVisibleTrackReturned_mapsSummaryFields() {
-        User owner = user(USER_ID, "owner@test.com");
-        RecipeTrack track = track(TRACK_ID, owner, "Morning Favorite", true, null);
+    void listFavoriteRecipes_whenCursorMalformed_throws400() {
+        ResponseStatusException ex = assertThrows(
+                ResponseStatusException.class,
+                () -> favoriteService.listFavoriteRecipes(USER_ID, 20, "not-a-cursor")
+        );
 
-        when(favoriteRepository.findByUser_Id(USER_ID)).thenReturn(List.of(favorite(owner, track)));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void listFavoriteRecipes_whenMoreRowsThanSize_mapsSummaryFieldsAndReturnsNextCursor() {
+        LocalDateTime favoritedAt = LocalDateTime.of(2026, 5, 1, 8, 30);
+        LocalDateTime versionUpdatedAt = LocalDateTime.of(2026, 4, 30, 7, 0);
+        UUID olderTrackId = UUID.randomUUID();
+        when(favoriteRepository.findFavoriteTracks(USER_ID, Limit.of(2))).thenReturn(List.of(
+                new FavoriteTrackView(favoritedAt, TRACK_ID, BEAN_ID, "Ethiopia", METHOD_ID, "V60",
+                        "Morning Favorite", true, 3, 5, versionUpdatedAt),
+                new FavoriteTrackView(favoritedAt.minusDays(1), olderTrackId, null, null, METHOD_ID, "V60",
+                        "Older", false, 1, null, versionUpdatedAt)
+        ));
 
-        List<TrackSummaryResponseDTO> out = favoriteService.listFavoriteRecipes(USER_ID);
+        PagedResponseDTO<TrackSummaryResponseDTO> out = favoriteService.listFavoriteRecipes(USER_ID, 1, null);
 
-        assertEquals(1, out.size());
-        TrackSummaryResponseDTO dto = out.get(0);
+        assertEquals(1, out.getItems().size());
+        TrackSummaryResponseDTO dto = out.getItems().get(0);
         assertEquals(TRACK_ID, dto.getTrackId());
+        assertEquals(BEAN_ID, dto.getBeanId());
+        assertEquals("Ethiopia", dto.getBeanName());
+        assertEquals(METHOD_ID, dto.getMethodId());
+        assertEquals("V60", dto.getMethodName());
         assertEquals("Morning Favorite", dto.getTitle());
+        assertEquals(3, dto.getCurrentVersionNumber());
+        assertEquals(5, dto.getRating());
+        assertEquals(versionUpdatedAt, dto.getUpdatedAt());
         assertTrue(dto.isGlobal());
         assertTrue(dto.isFavorite());
-        assertNotNull(dto.getUpdatedAt());
+        assertTrue(out.isHasNext());
+        assertFalse(out.isHasPrevious());
+        assertEquals(new FavoriteListCursor(favoritedAt, TRACK_ID), FavoriteListCursor.decode(out.getNextCursor()));
+    }
+
+    @Test
+    void listFavoriteRecipes_withCursor_readsRowsAfterIt() {
+        LocalDateTime favoritedAt = LocalDateTime.of(2026, 5, 1, 8, 30);
+        String after = new FavoriteListCursor(favoritedAt, TRACK_ID).encode();
+        when(favoriteRepository.findFavoriteTracksAfter(USER_ID, favoritedAt, TRACK_ID, Limit.of(21))).thenReturn(List.of());
+
+        PagedResponseDTO<TrackSummaryResponseDTO> out = favoriteService.listFavoriteRecipes(USER_ID, 20, after);
+
+        assertTrue(out.getItems().isEmpty());
+        assertFalse(out.isHasNext());
+        assertTrue(out.isHasPrevious());
+        assertNull(out.getNextCursor());
+        verify(favoriteRepository, never()).findFavoriteTracks(any(), any());
     }
 
     private User user(UUID id, String email) {
@@ -264,12 +291,4 @@ class FavoriteServiceTest {
         track.setUpdatedAt(LocalDateTime.now());
         return track;
     }
-
-    private Favorite favorite(User user, RecipeTrack track) {
-        Favorite favorite = new Favorite();
-        favorite.setId(new FavoriteId(user.getId(), track.getId()));
-        favorite.setUser(user);
-        favorite.setRecipeTrack(track);
-        return favorite;
-    }
 }
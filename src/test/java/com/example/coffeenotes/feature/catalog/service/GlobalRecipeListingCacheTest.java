@@ -0,0 +1,72 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalRecipeListingCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GlobalRecipeListingCache cache =
+            new GlobalRecipeListingCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+
+    @Test
+    void get_whenKeyIsRepeated_loadsOnceAndRecordsHitAndMiss() {
+        AtomicInteger loads = new AtomicInteger();
+        GlobalRecipeListingCache.Key key = key("espresso");
+
+        GlobalRecipeListingCache.Listing first = cache.get(key, () -> listing(loads));
+        GlobalRecipeListingCache.Listing second = cache.get(key("espresso"), () -> listing(loads));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("miss"));
+    }
+
+    @Test
+    void invalidate_dropsCachedListings() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(key("espresso"), () -> listing(loads));
+
+        cache.invalidate();
+        cache.get(key("espresso"), () -> listing(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenInvalidatedWhileLoading_doesNotKeepTheLoadedListing() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(key("espresso"), () -> {
+            cache.invalidate();
+            return listing(loads);
+        });
+
+        cache.get(key("espresso"), () -> listing(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", GlobalRecipeListingCache.CACHE_NAME, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static GlobalRecipeListingCache.Key key(String searchTerm) {
+        return new GlobalRecipeListingCache.Key(null, null, null, null, null, null, null, null, null, null,
+                searchTerm, false, null, 0, 21, true);
+    }
+
+    private static GlobalRecipeListingCache.Listing listing(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new GlobalRecipeListingCache.Listing(List.of(), 0L);
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.FieldChangeDTO;
+import com.example.coffeenotes.api.dto.recipe.MethodPayloadChangeDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeDiffResponseDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeBatchItemDTO;
+import com.example.coffeenotes.api.dto.recipe.TrackDetailsResponseDTO;
+import com.example.coffeenotes.api.dto.recipe.TrackSummaryResponseDTO;
+import com.example.coffeenotes.api.dto.recipe.UpdateRecipeRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.VersionHistoryItemDTO;
+import com.example.coffeenotes.api.dto.recipe.WaterPourChangeDTO;
+import com.example.coffeenotes.api.dto.recipe.WaterPourDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.coffeenotes.support.IntegrationFixtures.waterPour;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.cache.global-listings.enabled=false",
+        "app.cache.recipe-details.enabled=false"
+})
+@Transactional
+class RecipeDetailQueryCountIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getRecipe_assemblesTrackVersionChildrenAndFavoriteInOneStatement() {
+        User owner = fixtures.persistedUser(Role.ADMIN);
+        User viewer = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        CoffeeBean bean = fixtures.persistedBean(owner);
+        Equipment grinder = fixtures.persistedEquipment();
+
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setBeanId(bean.getId());
+        create.setMethodId(method.getId());
+        create.setTitle("Detail count");
+        create.setGlobal(true);
+        create.setMethodPayload("{\"filterShape\":\"cone\"}");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setWaterPours(List.of(waterPour(60, "00:00", 0), waterPour(190, "00:45", 1)));
+        update.setEquipmentIds(List.of(grinder.getId()));
+        recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        favoriteService.addFavorite(viewer.getId(), trackId);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        TrackDetailsResponseDTO details = recipeVersionService.getRecipe(viewer.getId(), trackId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(bean.getName(), details.getBeanName());
+        assertEquals(2, details.getVersionNumber());
+        assertEquals(List.of(60, 190), details.getWaterPours().stream().map(WaterPourDTO::getWaterAmountMl).toList());
+        assertEquals(List.of(grinder.getId()), details.getEquipmentIds());
+        assertTrue(details.isFavorite());
+    }
+
+    @Test
+    void getRecipeBatch_resolvesEveryIdInOneStatement() {
+        User owner = fixtures.persistedUser(Role.ADMIN);
+        User viewer = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        List<UUID> trackIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+            create.setMethodId(method.getId());
+            create.setTitle("Batch " + i);
+            create.setGlobal(i < 2);
+            trackIds.add(recipeVersionService.createRecipe(owner.getId(), create).getTrackId());
+        }
+        trackIds.add(UUID.randomUUID());
+        favoriteService.addFavorite(viewer.getId(), trackIds.get(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        List<RecipeBatchItemDTO> items = recipeVersionService.getRecipeBatch(viewer.getId(), trackIds);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(trackIds, items.stream().map(RecipeBatchItemDTO::getTrackId).toList());
+        assertEquals(List.of(true, true, false, false), items.stream().map(RecipeBatchItemDTO::isFound).toList());
+        assertFalse(items.get(0).getRecipe().isFavorite());
+        assertTrue(items.get(1).getRecipe().isFavorite());
+    }
+
+    @Test
+    void exportRecipes_readsEveryTrackAndVersionInOneStatement() throws Exception {
+        User owner = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        for (int i = 0; i < 3; i++) {
+            CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+            create.setMethodId(method.getId());
+            create.setTitle("Export " + i);
+            UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+            UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+            update.setWaterPours(List.of(waterPour(60, "00:00", 0), waterPour(190, "00:45", 1)));
+            recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recipeExportService.exportRecipes(owner.getId(), false, out);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void listRecipeVersionsPage_readsStampAndHistoryProjectionWithoutEntities() {
+        User owner = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle("History count");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        for (int i = 0; i < 3; i++) {
+            UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+            update.setRating(i + 1);
+            recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        PagedResponseDTO<VersionHistoryItemDTO> page = recipeVersionService.listRecipeVersions(owner.getId(), trackId, 2, null);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(4, 3), page.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+    }
+
+    @Test
+    void getRecipeDiff_readsBothVersionsInOneStatementWithoutEntities() {
+        User owner = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        Equipment grinder = fixtures.persistedEquipment();
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle("Diff count");
+        create.setMethodPayload("{\"filterShape\":\"cone\"}");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setRating(4);
+        update.setMethodPayload("{\"filterShape\":\"wave\",\"agitation\":\"swirl\"}");
+        update.setWaterPours(List.of(waterPour(60, "00:00", 0)));
+        update.setEquipmentIds(List.of(grinder.getId()));
+        recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        RecipeDiffResponseDTO diff = recipeVersionService.getRecipeDiff(owner.getId(), trackId, 1, 2);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("rating", "equipmentIds"), diff.getFields().stream().map(FieldChangeDTO::getField).toList());
+        assertEquals(List.of("added"), diff.getWaterPours().stream().map(WaterPourChangeDTO::getChange).toList());
+        assertEquals(List.of("/filterShape", "/agitation"),
+                diff.getMethodPayload().stream().map(MethodPayloadChangeDTO::getPath).toList());
+        assertEquals("wave", diff.getMethodPayload().get(0).getTo());
+    }
+
+    @Test
+    void deleteRecipe_tombstonesTrackWithThousandVersionsInThreeStatements() {
+        User owner = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle("Delete count");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        entityManager.flush();
+        entityManager.createNativeQuery("insert into coffeenotes.recipe_versions " +
+                        "(id, track_id, version_number, is_current, title, method_payload, created_at, updated_at) " +
+                        "select gen_random_uuid(), v.track_id, g, false, v.title, v.method_payload, v.created_at, v.updated_at " +
+                        "from coffeenotes.recipe_versions v cross join generate_series(2, 1000) g where v.track_id = :trackId")
+                .setParameter("trackId", trackId)
+                .executeUpdate();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        recipeVersionService.deleteRecipe(owner.getId(), trackId);
+
+        // The flag lookup and one UPDATE each for the track and its versions.
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0L, entityManager.createQuery("SELECT count(v) FROM RecipeVersion v " +
+                        "WHERE v.track.id = :trackId AND (v.deletedAt IS NULL OR v.isCurrent = true)", Long.class)
+                .setParameter("trackId", trackId)
+                .getSingleResult());
+        assertEquals(1000L, entityManager.createQuery("SELECT count(v) FROM RecipeVersion v WHERE v.track.id = :trackId", Long.class)
+                .setParameter("trackId", trackId)
+                .getSingleResult());
+        assertNotNull(entityManager.createQuery("SELECT t.deletedAt FROM RecipeTrack t WHERE t.id = :trackId")
+                .setParameter("trackId", trackId)
+                .getSingleResult());
+    }
+
+    @Test
+    void listFavoriteRecipes_readsPageInOneStatementWithoutEntities() {
+        User owner = fixtures.persistedUser(Role.ADMIN);
+        User viewer = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        CoffeeBean bean = fixtures.persistedBean(owner);
+        for (int i = 0; i < 3; i++) {
+            CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+            create.setBeanId(i == 0 ? bean.getId() : null);
+            create.setMethodId(method.getId());
+            create.setTitle("Favorite count " + i);
+            create.setGlobal(true);
+            favoriteService.addFavorite(viewer.getId(), recipeVersionService.createRecipe(owner.getId(), create).getTrackId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = resetStatistics();
+        PagedResponseDTO<TrackSummaryResponseDTO> page = favoriteService.listFavoriteRecipes(viewer.getId(), 2, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertTrue(page.getItems().stream().allMatch(item -> item.getMethodName().equals(method.getName())));
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
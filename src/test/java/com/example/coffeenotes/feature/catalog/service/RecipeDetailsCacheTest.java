@@ -0,0 +1,102 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackDetailsView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeDetailsCacheTest {
+
+    private static final UUID TRACK_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID OWNER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID BEAN_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final UUID METHOD_ID = UUID.fromString("44444444-4444-4444-4444-444444444444");
+    private static final UUID VERSION_1 = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    private static final UUID VERSION_2 = UUID.fromString("66666666-6666-6666-6666-666666666666");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecipeDetailsCache cache = new RecipeDetailsCache(meterRegistry, true, 100, Duration.ofMinutes(5));
+
+    @Test
+    void get_whenCurrentVersionIsUnchanged_loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        TrackDetailsView first = cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+        TrackDetailsView second = cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, gets("hit"));
+    }
+
+    @Test
+    void get_whenTrackMovedToNewVersion_reloads() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+
+        TrackDetailsView reloaded = cache.get(TRACK_ID, VERSION_2, () -> details(VERSION_2, loads));
+
+        assertEquals(VERSION_2, reloaded.versionId());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenLoadedRowIsForAnotherVersion_doesNotKeepIt() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_2, loads));
+
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateMethodAndOwner_dropMatchingEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+        cache.invalidateMethod(UUID.randomUUID());
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+        assertEquals(1, loads.get());
+
+        cache.invalidateMethod(METHOD_ID);
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+        assertEquals(2, loads.get());
+
+        cache.invalidateOwner(UUID.randomUUID(), List.of(BEAN_ID));
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_whenInvalidatedWhileLoading_doesNotKeepTheLoadedDetails() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(TRACK_ID, VERSION_1, () -> {
+            cache.invalidateTrack(TRACK_ID);
+            return details(VERSION_1, loads);
+        });
+
+        cache.get(TRACK_ID, VERSION_1, () -> details(VERSION_1, loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", RecipeDetailsCache.CACHE_NAME, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static TrackDetailsView details(UUID versionId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new TrackDetailsView(TRACK_ID, OWNER_ID, true, "Track", null, null,
+                BEAN_ID, "Bean", null, null, null, null, METHOD_ID, "V60",
+                versionId, 1, true, null, null, null, null, null, null, "{}", null, false, List.of(), List.of());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.UpdateRecipeRequestDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.coffeenotes.support.IntegrationFixtures.waterPour;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(IntegrationFixtures.class)
+@SpringBootTest
+@Transactional
+class RecipeExportServiceIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportRecipes_ndjson_writesOneLinePerLiveTrackWithItsHistory() throws Exception {
+        User owner = fixtures.persistedUser();
+        User other = fixtures.persistedUser();
+        CoffeeBean bean = fixtures.persistedBean(owner);
+        BrewMethods method = fixtures.persistedMethod("V60");
+        Equipment grinder = fixtures.persistedEquipment();
+
+        UUID firstTrack = recipeVersionService.createRecipe(owner.getId(),
+                createRequest(bean.getId(), method.getId(), "First", "{\"filterShape\":\"cone\"}")).getTrackId();
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setRating(4);
+        update.setWaterPours(List.of(waterPour(60, "00:00", 0), waterPour(190, "00:45", 1)));
+        update.setEquipmentIds(List.of(grinder.getId()));
+        recipeVersionService.updateRecipe(owner.getId(), firstTrack, update);
+        UUID secondTrack = recipeVersionService.createRecipe(owner.getId(),
+                createRequest(null, method.getId(), "Second", null)).getTrackId();
+        UUID deletedTrack = recipeVersionService.createRecipe(owner.getId(),
+                createRequest(null, method.getId(), "Deleted", null)).getTrackId();
+        recipeVersionService.deleteRecipe(owner.getId(), deletedTrack);
+        recipeVersionService.createRecipe(other.getId(), createRequest(null, method.getId(), "Not mine", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recipeExportService.exportRecipes(owner.getId(), false, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals(firstTrack.toString(), first.get("trackId").asText());
+        assertEquals(secondTrack.toString(), second.get("trackId").asText());
+        assertEquals(bean.getId().toString(), first.get("beanId").asText());
+        assertTrue(second.get("beanId").isNull());
+
+        JsonNode versions = first.get("versions");
+        assertEquals(2, versions.size());
+        assertEquals(1, versions.get(0).get("versionNumber").asInt());
+        assertFalse(versions.get(0).get("current").asBoolean());
+        assertEquals(0, versions.get(0).get("waterPours").size());
+        assertEquals("cone", versions.get(0).get("methodPayload").get("filterShape").asText());
+        assertEquals(2, versions.get(1).get("versionNumber").asInt());
+        assertTrue(versions.get(1).get("current").asBoolean());
+        assertEquals(4, versions.get(1).get("rating").asInt());
+        assertEquals(190, versions.get(1).get("waterPours").get(1).get("waterAmountMl").asInt());
+        assertEquals(grinder.getId().toString(), versions.get(1).get("equipmentIds").get(0).asText());
+        assertEquals(1, second.get("versions").size());
+    }
+
+    @Test
+    void exportRecipes_jsonArray_wrapsTracksInOneArray() throws Exception {
+        User owner = fixtures.persistedUser();
+        BrewMethods method = fixtures.persistedMethod("Chemex");
+        recipeVersionService.createRecipe(owner.getId(), createRequest(null, method.getId(), "Only", null));
+        User empty = fixtures.persistedUser();
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recipeExportService.exportRecipes(owner.getId(), true, out);
+        ByteArrayOutputStream nothing = new ByteArrayOutputStream();
+        recipeExportService.exportRecipes(empty.getId(), true, nothing);
+
+        JsonNode tracks = objectMapper.readTree(out.toByteArray());
+        assertTrue(tracks.isArray());
+        assertEquals(1, tracks.size());
+        assertEquals("Only", tracks.get(0).get("title").asText());
+        assertEquals("[]", nothing.toString(StandardCharsets.UTF_8));
+    }
+
+    private CreateTrackRequestDTO createRequest(UUID beanId, UUID methodId, String title, String methodPayload) {
+        CreateTrackRequestDTO dto = new CreateTrackRequestDTO();
+        dto.setBeanId(beanId);
+        dto.setMethodId(methodId);
+        dto.setTitle(title);
+        dto.setMethodPayload(methodPayload);
+        return dto;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.RecipeImportErrorDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeImportResultDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipment;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeTrack;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeVersion;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeWaterPour;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A chunk size of 2 makes every import below span several chunks.
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = "app.recipe-import.chunk-size=2")
+@Transactional
+class RecipeImportServiceIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Autowired
+    private RecipeVersionRepository recipeVersionRepository;
+
+    @Autowired
+    private RecipeWaterPourRepository recipeWaterPourRepository;
+
+    @Autowired
+    private RecipeEquipmentRepository recipeEquipmentRepository;
+
+    @Test
+    void importRecipes_ndjson_importsValidRowsAndReportsTheRest() {
+        User owner = fixtures.persistedUser(Role.USER);
+        CoffeeBean bean = fixtures.persistedBean(owner);
+        BrewMethods method = fixtures.persistedMethod("V60");
+        Equipment grinder = fixtures.persistedEquipment();
+
+        String body = String.join("\n",
+                "{\"beanId\":\"" + bean.getId() + "\",\"methodId\":\"" + method.getId() + "\",\"title\":\" Morning \","
+                        + "\"rating\":4,\"brewTimeSeconds\":180,\"methodPayload\":{\"filterShape\":\" CONE \"},"
+                        + "\"waterPours\":[{\"waterAmountMl\":60,\"time\":\"00:00\",\"orderIndex\":0},"
+                        + "{\"waterAmountMl\":190,\"time\":\"00:45\",\"orderIndex\":1}],"
+                        + "\"equipmentIds\":[\"" + grinder.getId() + "\"]}",
+                "{\"beanId\":\"" + bean.getId() + "\",\"methodId\":\"" + method.getId() + "\",\"title\":\"Same pair\"}",
+                "{\"methodId\":\"" + UUID.randomUUID() + "\",\"title\":\"Unknown method\"}",
+                "[1, 2]",
+                "{\"methodId\":\"" + method.getId() + "\",\"title\":\"Bad rating\",\"rating\":9}",
+                "{\"methodId\":\"" + method.getId() + "\",\"title\":\"Global\",\"global\":true}",
+                "{\"methodId\":\"" + method.getId() + "\",\"title\":\"Payload as text\","
+                        + "\"methodPayload\":\"{\\\"pourStyle\\\":\\\"pulse\\\"}\"}",
+                "");
+
+        RecipeImportResultDTO result = recipeImportService.importRecipes(owner.getId(), stream(body));
+
+        assertEquals(2, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(Map.of(
+                2, "Track already exists for this bean and method",
+                3, "Method not found",
+                4, "Row must be a JSON object.",
+                5, "Rating should be between 1 and 5",
+                6, "Only admins can create global recipes."
+        ), result.getErrors().stream().collect(Collectors.toMap(RecipeImportErrorDTO::getRow, RecipeImportErrorDTO::getMessage)));
+        assertEquals(List.of(2, 3, 4, 5, 6), result.getErrors().stream().map(RecipeImportErrorDTO::getRow).toList());
+
+        Map<String, RecipeTrack> tracks = recipeTrackRepository.findAllByOwner_Id(owner.getId()).stream()
+                .collect(Collectors.toMap(RecipeTrack::getTitle, t -> t));
+        assertEquals(Set.of("Morning", "Payload as text"), tracks.keySet());
+
+        RecipeTrack morning = tracks.get("Morning");
+        assertEquals(1, morning.getCurrentVersionNumber());
+        assertEquals(4, morning.getCurrentRating());
+        assertEquals(180, morning.getCurrentBrewTimeSeconds());
+        assertTrue(morning.getSearchDocument().contains("morning"));
+        RecipeVersion version = recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(morning.getId()).orElseThrow();
+        assertEquals("{\"filterShape\":\"cone\"}", version.getMethodPayload());
+        assertEquals(List.of(60, 190), recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(version.getId())
+                .stream().map(RecipeWaterPour::getWaterAmount).toList());
+        assertEquals(List.of(grinder.getId()), recipeEquipmentRepository.findByRecipeVersion_Id(version.getId())
+                .stream().map(RecipeEquipment::getEquipment).map(Equipment::getId).toList());
+
+        RecipeVersion fromText = recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(tracks.get("Payload as text").getId())
+                .orElseThrow();
+        assertEquals("{\"pourStyle\":\"pulse\"}", fromText.getMethodPayload());
+    }
+
+    @Test
+    void importRecipes_jsonArray_stopsAtMalformedInputAndKeepsEarlierRows() {
+        User owner = fixtures.persistedUser(Role.ADMIN);
+        BrewMethods method = fixtures.persistedMethod("Chemex");
+
+        String body = "[{\"methodId\":\"" + method.getId() + "\",\"title\":\"One\",\"global\":true},"
+                + "{\"methodId\":\"" + method.getId() + "\",\"title\":\"Two\"},"
+                + "{\"methodId\":\"" + method.getId() + "\",\"title\":\"Three\"},"
+                + "{\"methodId\": oops}]";
+
+        RecipeImportResultDTO result = recipeImportService.importRecipes(owner.getId(), stream(body));
+
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed JSON"));
+        assertEquals(3, recipeTrackRepository.findAllByOwner_Id(owner.getId()).size());
+    }
+
+    @Test
+    void importRecipes_whenUserMissing_throws404() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeImportService.importRecipes(UUID.randomUUID(), stream("[]")));
+
+        assertEquals(404, ex.getStatusCode().value());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.RecipeImportErrorDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeImportResultDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadStrategy;
+import com.example.coffeenotes.feature.catalog.methodpayload.MethodPayloadStrategyRegistry;
+import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
+import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
+import com.example.coffeenotes.feature.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeImportServiceTest {
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID METHOD_ID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BrewMethodsRepository brewMethodsRepository;
+
+    @Mock
+    private CoffeeBeanRepository coffeeBeanRepository;
+
+    @Mock
+    private EquipmentRepository equipmentRepository;
+
+    @Mock
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Mock
+    private RecipeVersionRepository recipeVersionRepository;
+
+    @Mock
+    private RecipeWaterPourRepository recipeWaterPourRepository;
+
+    @Mock
+    private RecipeEquipmentRepository recipeEquipmentRepository;
+
+    @Mock
+    private MethodPayloadStrategyRegistry methodPayloadStrategyRegistry;
+
+    @Mock
+    private MethodPayloadStrategy methodPayloadStrategy;
+
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private GlobalRecipeListingCache globalRecipeListingCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importRecipes_whenAChunkFailsToWrite_reportsItsRowsAndImportsTheNextChunk() {
+        User owner = new User();
+        owner.setId(USER_ID);
+        owner.setRole(Role.USER);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
+        when(brewMethodsRepository.findAllById(any())).thenReturn(List.of(new BrewMethods(METHOD_ID, "V60", "Cone dripper")));
+        when(methodPayloadStrategyRegistry.getRequired("V60")).thenReturn(methodPayloadStrategy);
+        when(methodPayloadStrategy.validateAndNormalize(any())).thenAnswer(invocation -> invocation.<JsonNode>getArgument(0));
+        when(recipeTrackRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        RecipeImportService service = service(2);
+        String body = String.join("\n",
+                "{\"methodId\":\"" + METHOD_ID + "\",\"title\":\"One\"}",
+                "{\"methodId\":\"" + METHOD_ID + "\",\"title\":\"Bad rating\",\"rating\":9}",
+                "{\"methodId\":\"" + METHOD_ID + "\",\"title\":\"Three\"}");
+
+        RecipeImportResultDTO result = service.importRecipes(USER_ID,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(1, 2), result.getErrors().stream().map(RecipeImportErrorDTO::getRow).toList());
+        assertEquals("Row could not be saved; its chunk was rolled back.", result.getErrors().get(0).getMessage());
+        assertEquals("Rating should be between 1 and 5", result.getErrors().get(1).getMessage());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    private RecipeImportService service(int chunkSize) {
+        return new RecipeImportService(userRepository, brewMethodsRepository, coffeeBeanRepository, equipmentRepository,
+                recipeTrackRepository, recipeVersionRepository, recipeWaterPourRepository, recipeEquipmentRepository,
+                methodPayloadStrategyRegistry, new ObjectMapper(), recipeSearchIndex, globalRecipeListingCache,
+                transactionManager, chunkSize);
+    }
+}
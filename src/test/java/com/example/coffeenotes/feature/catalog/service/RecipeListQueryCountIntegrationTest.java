@@ -0,0 +1,117 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeFilterDTO;
+import com.example.coffeenotes.api.dto.recipe.TrackSummaryResponseDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.cache.global-listings.enabled=false",
+        "app.cache.recipe-details.enabled=false"
+})
+@Transactional
+class RecipeListQueryCountIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User viewer;
+    private String marker;
+    private UUID favoriteTrackId;
+
+    @BeforeEach
+    void createTracks() {
+        viewer = fixtures.persistedUser();
+        marker = "scope-" + UUID.randomUUID();
+        BrewMethods method = fixtures.persistedMethod();
+        for (int i = 0; i < 5; i++) {
+            CoffeeBean bean = fixtures.persistedBean(viewer);
+            CreateTrackRequestDTO dto = new CreateTrackRequestDTO();
+            dto.setBeanId(bean.getId());
+            dto.setMethodId(method.getId());
+            dto.setTitle("Query count " + i + " " + marker);
+            dto.setMethodPayload("{\"filterShape\":\"cone\"}");
+            favoriteTrackId = recipeVersionService.createRecipe(viewer.getId(), dto).getTrackId();
+        }
+        favoriteService.addFavorite(viewer.getId(), favoriteTrackId);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listRecipes_withTotal_runsFavoritesPageAndCountQueriesOnly() {
+        Statistics statistics = resetStatistics();
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
+                viewer.getId(), scopedFilter(), PageRequest.of(0, 3), null);
+
+        assertEquals(3, page.getItems().size());
+        assertEquals(5L, page.getTotalElements());
+        assertNotNull(page.getItems().get(0).getBeanName());
+        assertTrue(page.getItems().get(0).isFavorite());
+        assertFalse(page.getItems().get(1).isFavorite());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listRecipes_withCursorAndWithoutTotal_runsFavoritesAndPageQueriesOnly() {
+        PagedResponseDTO<TrackSummaryResponseDTO> first = recipeVersionService.listRecipes(
+                viewer.getId(), scopedFilter(), PageRequest.of(0, 3), null, false, false);
+        Statistics statistics = resetStatistics();
+
+        PagedResponseDTO<TrackSummaryResponseDTO> second = recipeVersionService.listRecipes(
+                viewer.getId(), scopedFilter(), PageRequest.of(0, 3), first.getNextCursor(), false, false);
+
+        assertEquals(2, second.getItems().size());
+        assertFalse(second.isHasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private RecipeFilterDTO scopedFilter() {
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker);
+        return filter;
+    }
+}
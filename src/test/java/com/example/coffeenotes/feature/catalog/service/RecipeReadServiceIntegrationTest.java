@@ -1,5 +1,7 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.catalog.BrewMethodsDTO;
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
 import com.example.coffeenotes.api.dto.recipe.RecipeFilterDTO;
 import com.example.coffeenotes.api.dto.recipe.RecipeVersionResponseDTO;
@@ -19,15 +21,22 @@ import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,6 +53,9 @@ class RecipeReadServiceIntegrationTest {
     @Autowired
     private FavoriteService favoriteService;
 
+    @Autowired
+    private BrewMethodsService brewMethodsService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -59,6 +71,9 @@ class RecipeReadServiceIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void listRecipes_returnsVisibleCurrentSnapshotsAndFavoriteFlags() {
         User viewer = persistedUser();
@@ -104,16 +119,17 @@ class RecipeReadServiceIntegrationTest {
 
         RecipeFilterDTO scopedFilter = new RecipeFilterDTO();
         scopedFilter.setQ(marker);
-        Page<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
                 viewer.getId(),
                 scopedFilter,
-                PageRequest.of(0, 10)
+                PageRequest.of(0, 10),
+                null
         );
 
         assertEquals(2, page.getTotalElements());
-        assertEquals(2, page.getContent().size());
+        assertEquals(2, page.getItems().size());
 
-        Map<UUID, TrackSummaryResponseDTO> byId = page.getContent().stream()
+        Map<UUID, TrackSummaryResponseDTO> byId = page.getItems().stream()
                 .collect(Collectors.toMap(TrackSummaryResponseDTO::getTrackId, Function.identity()));
 
         assertTrue(byId.containsKey(ownTrack.getTrackId()));
@@ -173,40 +189,392 @@ class RecipeReadServiceIntegrationTest {
         favoritesOnly.setFavoritesOnly(true);
         favoritesOnly.setQ(marker);
 
-        Page<TrackSummaryResponseDTO> favoritesPage = recipeVersionService.listRecipes(
+        PagedResponseDTO<TrackSummaryResponseDTO> favoritesPage = recipeVersionService.listRecipes(
                 viewer.getId(),
                 favoritesOnly,
-                PageRequest.of(0, 10)
+                PageRequest.of(0, 10),
+                null
         );
 
         assertEquals(1, favoritesPage.getTotalElements());
-        assertEquals(globalTrack.getTrackId(), favoritesPage.getContent().get(0).getTrackId());
+        assertEquals(globalTrack.getTrackId(), favoritesPage.getItems().get(0).getTrackId());
 
         RecipeFilterDTO globalsOnly = new RecipeFilterDTO();
         globalsOnly.setIsGlobal(true);
         globalsOnly.setQ(marker);
 
-        Page<TrackSummaryResponseDTO> globalsPage = recipeVersionService.listRecipes(
+        PagedResponseDTO<TrackSummaryResponseDTO> globalsPage = recipeVersionService.listRecipes(
                 viewer.getId(),
                 globalsOnly,
-                PageRequest.of(0, 10)
+                PageRequest.of(0, 10),
+                null
         );
 
         assertEquals(1, globalsPage.getTotalElements());
-        assertEquals(globalTrack.getTrackId(), globalsPage.getContent().get(0).getTrackId());
+        assertEquals(globalTrack.getTrackId(), globalsPage.getItems().get(0).getTrackId());
 
         RecipeFilterDTO methodOnly = new RecipeFilterDTO();
         methodOnly.setMethodId(pourOver.getId());
         methodOnly.setQ(marker);
 
-        Page<TrackSummaryResponseDTO> methodPage = recipeVersionService.listRecipes(
+        PagedResponseDTO<TrackSummaryResponseDTO> methodPage = recipeVersionService.listRecipes(
                 viewer.getId(),
                 methodOnly,
-                PageRequest.of(0, 10)
+                PageRequest.of(0, 10),
+                null
         );
 
         assertEquals(1, methodPage.getTotalElements());
-        assertEquals(ownTrack.getTrackId(), methodPage.getContent().get(0).getTrackId());
+        assertEquals(ownTrack.getTrackId(), methodPage.getItems().get(0).getTrackId());
+    }
+
+    @Test
+    void listRecipes_appliesBeanRatingBrewTimeEquipmentAndUpdatedRangeFilters() {
+        User viewer = persistedUser();
+        String marker = "scope-" + UUID.randomUUID();
+
+        BrewMethods method = persistedMethod("V60");
+        CoffeeBean bean = persistedBean(viewer, false);
+        Equipment grinder = persistedEquipment("Grinder");
+
+        RecipeVersionResponseDTO beanTrack = recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(bean.getId(), method.getId(), "With Bean " + marker, false,
+                        "{\"filterShape\":\"cone\"}")
+        );
+        UpdateRecipeRequestDTO beanUpdate = new UpdateRecipeRequestDTO();
+        beanUpdate.setRating(5);
+        beanUpdate.setBrewTimeSeconds(180);
+        beanUpdate.setEquipmentIds(List.of(grinder.getId()));
+        recipeVersionService.updateRecipe(viewer.getId(), beanTrack.getTrackId(), beanUpdate);
+
+        RecipeVersionResponseDTO beanlessTrack = recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(null, method.getId(), "Without Bean " + marker, false,
+                        "{\"filterShape\":\"cone\"}")
+        );
+        UpdateRecipeRequestDTO beanlessUpdate = new UpdateRecipeRequestDTO();
+        beanlessUpdate.setRating(2);
+        beanlessUpdate.setBrewTimeSeconds(240);
+        recipeVersionService.updateRecipe(viewer.getId(), beanlessTrack.getTrackId(), beanlessUpdate);
+
+        RecipeFilterDTO byBean = new RecipeFilterDTO();
+        byBean.setQ(marker);
+        byBean.setBeanId(bean.getId());
+        assertEquals(List.of(beanTrack.getTrackId()), listTrackIds(viewer, byBean));
+
+        RecipeFilterDTO withoutBean = new RecipeFilterDTO();
+        withoutBean.setQ(marker);
+        withoutBean.setHasBean(false);
+        assertEquals(List.of(beanlessTrack.getTrackId()), listTrackIds(viewer, withoutBean));
+
+        RecipeFilterDTO highlyRated = new RecipeFilterDTO();
+        highlyRated.setQ(marker);
+        highlyRated.setRatingMin(4);
+        highlyRated.setRatingMax(5);
+        assertEquals(List.of(beanTrack.getTrackId()), listTrackIds(viewer, highlyRated));
+
+        RecipeFilterDTO longBrews = new RecipeFilterDTO();
+        longBrews.setQ(marker);
+        longBrews.setBrewTimeMinSeconds(200);
+        assertEquals(List.of(beanlessTrack.getTrackId()), listTrackIds(viewer, longBrews));
+
+        RecipeFilterDTO withGrinder = new RecipeFilterDTO();
+        withGrinder.setQ(marker);
+        withGrinder.setEquipmentId(grinder.getId());
+        assertEquals(List.of(beanTrack.getTrackId()), listTrackIds(viewer, withGrinder));
+
+        RecipeFilterDTO updatedInFuture = new RecipeFilterDTO();
+        updatedInFuture.setQ(marker);
+        updatedInFuture.setUpdatedFrom(LocalDateTime.now().plusDays(1));
+        assertEquals(List.of(), listTrackIds(viewer, updatedInFuture));
+
+        RecipeFilterDTO updatedRecently = new RecipeFilterDTO();
+        updatedRecently.setQ(marker);
+        updatedRecently.setUpdatedFrom(LocalDateTime.now().minusDays(1));
+        updatedRecently.setUpdatedTo(LocalDateTime.now().plusDays(1));
+        assertEquals(Set.of(beanTrack.getTrackId(), beanlessTrack.getTrackId()), new HashSet<>(listTrackIds(viewer, updatedRecently)));
+    }
+
+    @Test
+    void listRecipes_searchMatchesBeanRoasterAndOriginAndFollowsMethodRenames() {
+        User viewer = persistedUser();
+        String marker = "scope" + UUID.randomUUID().toString().replace("-", "");
+
+        BrewMethods method = persistedMethod("Method " + marker);
+        CoffeeBean bean = persistedBean(viewer, false);
+        bean.setRoaster("Roaster " + marker);
+        bean.setOrigin("Huila");
+        coffeeBeanRepository.saveAndFlush(bean);
+
+        RecipeVersionResponseDTO created = recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(bean.getId(), method.getId(), "Morning brew", false, "{}")
+        );
+
+        RecipeFilterDTO byRoaster = new RecipeFilterDTO();
+        byRoaster.setQ("ROASTER " + marker);
+        assertEquals(List.of(created.getTrackId()), listTrackIds(viewer, byRoaster));
+
+        BrewMethodsDTO rename = new BrewMethodsDTO();
+        rename.setName("Renamed " + marker);
+        brewMethodsService.update(method.getId(), rename);
+
+        RecipeFilterDTO byNewMethodName = new RecipeFilterDTO();
+        byNewMethodName.setQ("renamed " + marker);
+        assertEquals(List.of(created.getTrackId()), listTrackIds(viewer, byNewMethodName));
+
+        RecipeFilterDTO byOldMethodName = new RecipeFilterDTO();
+        byOldMethodName.setQ("method " + marker);
+        assertEquals(List.of(), listTrackIds(viewer, byOldMethodName));
+    }
+
+    @Test
+    void listRecipes_withRelevanceSort_ranksCloserMatchesFirst() {
+        User viewer = persistedUser();
+        String marker = "scope" + UUID.randomUUID().toString().replace("-", "");
+
+        BrewMethods method = persistedMethod("V60");
+
+        RecipeVersionResponseDTO exact = recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(null, method.getId(), marker + " kenya", false, "{\"filterShape\":\"cone\"}")
+        );
+        RecipeVersionResponseDTO partial = recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(null, method.getId(), marker + " kenyan peaberry blend", false, "{\"filterShape\":\"cone\"}")
+        );
+        UpdateRecipeRequestDTO touch = new UpdateRecipeRequestDTO();
+        touch.setRating(3);
+        recipeVersionService.updateRecipe(viewer.getId(), partial.getTrackId(), touch);
+
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker + " kenya");
+
+        PagedResponseDTO<TrackSummaryResponseDTO> recent = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 10), null);
+        PagedResponseDTO<TrackSummaryResponseDTO> ranked = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 10, Sort.by("relevance")), null);
+
+        assertEquals(List.of(partial.getTrackId(), exact.getTrackId()),
+                recent.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertEquals(List.of(exact.getTrackId(), partial.getTrackId()),
+                ranked.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertNull(ranked.getNextCursor());
+    }
+
+    @Test
+    void listRecipes_withAfterCursor_walksAllPagesWithoutGapsOrDuplicates() {
+        User viewer = persistedUser();
+        String marker = "scope-" + UUID.randomUUID();
+        BrewMethods method = persistedMethod("V60");
+
+        List<UUID> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(recipeVersionService.createRecipe(
+                    viewer.getId(),
+                    createTrackRequest(null, method.getId(), "Keyset " + i + " " + marker, false,
+                            "{\"filterShape\":\"cone\"}")
+            ).getTrackId());
+        }
+
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker);
+
+        List<UUID> seen = new ArrayList<>();
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 2), null);
+        seen.addAll(page.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertEquals(5, page.getTotalElements());
+        assertNotNull(page.getNextCursor());
+
+        while (page.getNextCursor() != null) {
+            page = recipeVersionService.listRecipes(viewer.getId(), filter, PageRequest.of(0, 2), page.getNextCursor());
+            assertTrue(page.isHasPrevious());
+            seen.addAll(page.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        }
+
+        assertFalse(page.isHasNext());
+        assertEquals(5, seen.size());
+        assertEquals(new HashSet<>(created), new HashSet<>(seen));
+    }
+
+    @Test
+    void listRecipes_mixedCursorPagesMatchOffsetPagesWhenGlobalPortionIsShared() {
+        User viewer = persistedUser();
+        User admin = persistedAdminUser();
+        User stranger = persistedUser();
+        String marker = "scope-" + UUID.randomUUID();
+        BrewMethods method = persistedMethod("V60");
+
+        Set<UUID> visible = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            visible.add(recipeVersionService.createRecipe(admin.getId(),
+                    createTrackRequest(null, method.getId(), "Shared " + i + " " + marker, true,
+                            "{\"filterShape\":\"cone\"}")).getTrackId());
+            visible.add(recipeVersionService.createRecipe(viewer.getId(),
+                    createTrackRequest(null, method.getId(), "Own " + i + " " + marker, false,
+                            "{\"filterShape\":\"cone\"}")).getTrackId());
+            recipeVersionService.createRecipe(stranger.getId(),
+                    createTrackRequest(null, method.getId(), "Hidden " + i + " " + marker, false,
+                            "{\"filterShape\":\"cone\"}"));
+        }
+
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker);
+
+        List<UUID> byOffset = new ArrayList<>();
+        for (int pageNumber = 0; pageNumber < 3; pageNumber++) {
+            byOffset.addAll(recipeVersionService.listRecipes(viewer.getId(), filter, PageRequest.of(pageNumber, 2), null)
+                    .getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        }
+
+        List<UUID> byCursor = new ArrayList<>();
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 2), null);
+        assertEquals(6, page.getTotalElements());
+        byCursor.addAll(page.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        while (page.getNextCursor() != null) {
+            page = recipeVersionService.listRecipes(viewer.getId(), filter, PageRequest.of(0, 2), page.getNextCursor());
+            byCursor.addAll(page.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        }
+
+        assertEquals(visible, new HashSet<>(byOffset));
+        assertEquals(byOffset, byCursor);
+    }
+
+    @Test
+    void listRecipes_globalOnly_servesRepeatsFromCacheUntilAGlobalTrackChanges() {
+        User viewer = persistedUser();
+        User admin = persistedAdminUser();
+        String marker = "scope-" + UUID.randomUUID();
+        BrewMethods method = persistedMethod("V60");
+        RecipeVersionResponseDTO shared = recipeVersionService.createRecipe(admin.getId(),
+                createTrackRequest(null, method.getId(), "Shared " + marker, true, "{\"filterShape\":\"cone\"}"));
+
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker);
+        filter.setIsGlobal(true);
+
+        double hitsBefore = cacheGets("hit");
+        recipeVersionService.listRecipes(viewer.getId(), filter, PageRequest.of(0, 10), null);
+        favoriteService.addFavorite(viewer.getId(), shared.getTrackId());
+        PagedResponseDTO<TrackSummaryResponseDTO> repeated = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 10), null);
+
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+        assertEquals(1, repeated.getTotalElements());
+        assertTrue(repeated.getItems().get(0).isFavorite());
+
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setTitle("Renamed " + marker);
+        recipeVersionService.updateRecipe(admin.getId(), shared.getTrackId(), update);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> afterWrite = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 10), null);
+        assertEquals("Renamed " + marker, afterWrite.getItems().get(0).getTitle());
+    }
+
+    @Test
+    void listRecipes_withoutTotal_returnsSliceWithLookaheadHasNext() {
+        User viewer = persistedUser();
+        String marker = "scope-" + UUID.randomUUID();
+        BrewMethods method = persistedMethod("V60");
+        for (int i = 0; i < 3; i++) {
+            recipeVersionService.createRecipe(
+                    viewer.getId(),
+                    createTrackRequest(null, method.getId(), "Slice " + i + " " + marker, false,
+                            "{\"filterShape\":\"cone\"}"));
+        }
+
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(marker);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> first = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 2), null, false, false);
+        assertEquals(2, first.getItems().size());
+        assertTrue(first.isHasNext());
+        assertNull(first.getTotalElements());
+
+        PagedResponseDTO<TrackSummaryResponseDTO> second = recipeVersionService.listRecipes(
+                viewer.getId(), filter, PageRequest.of(0, 2), first.getNextCursor(), false, false);
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listRecipes_withEstimatedTotalOnSmallUnfilteredSet_fallsBackToExactCount() {
+        User viewer = persistedUser();
+        BrewMethods method = persistedMethod("V60");
+        recipeVersionService.createRecipe(
+                viewer.getId(),
+                createTrackRequest(null, method.getId(), "Estimate " + UUID.randomUUID(), false,
+                        "{\"filterShape\":\"cone\"}"));
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(
+                viewer.getId(), null, PageRequest.of(0, 5), null, true, true);
+
+        assertFalse(page.isTotalEstimated());
+        assertNotNull(page.getTotalElements());
+        assertTrue(page.getTotalElements() >= 1);
+    }
+
+    @Test
+    void getRecipe_reusesCachedDetailsPerVersionWithEachViewersFavoriteFlag() {
+        User viewer = persistedUser();
+        User owner = persistedAdminUser();
+        BrewMethods method = persistedMethod("V60");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(),
+                createTrackRequest(null, method.getId(), "Cached", true, "{\"filterShape\":\"cone\"}")).getTrackId();
+        favoriteService.addFavorite(viewer.getId(), trackId);
+
+        double hitsBefore = cacheGets(RecipeDetailsCache.CACHE_NAME, "hit");
+        TrackDetailsResponseDTO forViewer = recipeVersionService.getRecipe(viewer.getId(), trackId);
+        TrackDetailsResponseDTO forOwner = recipeVersionService.getRecipe(owner.getId(), trackId);
+
+        assertEquals(hitsBefore + 1, cacheGets(RecipeDetailsCache.CACHE_NAME, "hit"));
+        assertTrue(forViewer.isFavorite());
+        assertFalse(forOwner.isFavorite());
+
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setRating(5);
+        recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+
+        TrackDetailsResponseDTO afterUpdate = recipeVersionService.getRecipe(viewer.getId(), trackId);
+        assertEquals(2, afterUpdate.getVersionNumber());
+        assertEquals(5, afterUpdate.getRating());
+        assertTrue(afterUpdate.isFavorite());
+
+        recipeVersionService.deleteRecipe(owner.getId(), trackId);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipe(viewer.getId(), trackId));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void recipeETags_stayStableUntilTheTrackOrViewerFavoriteChanges() {
+        User viewer = persistedUser();
+        User owner = persistedAdminUser();
+        BrewMethods method = persistedMethod("V60");
+        RecipeVersionResponseDTO created = recipeVersionService.createRecipe(owner.getId(),
+                createTrackRequest(null, method.getId(), "Tagged", true, "{\"filterShape\":\"cone\"}"));
+        UUID trackId = created.getTrackId();
+
+        String detailTag = recipeVersionService.getRecipeETag(viewer.getId(), trackId);
+        String historyTag = recipeVersionService.getRecipeVersionsETag(viewer.getId(), trackId);
+        assertEquals(detailTag, recipeVersionService.getRecipeETag(viewer.getId(), trackId));
+
+        favoriteService.addFavorite(viewer.getId(), trackId);
+        String favoritedTag = recipeVersionService.getRecipeETag(viewer.getId(), trackId);
+        assertNotEquals(detailTag, favoritedTag);
+        assertEquals(historyTag, recipeVersionService.getRecipeVersionsETag(viewer.getId(), trackId));
+
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setRating(4);
+        recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        assertNotEquals(favoritedTag, recipeVersionService.getRecipeETag(viewer.getId(), trackId));
+        assertNotEquals(historyTag, recipeVersionService.getRecipeVersionsETag(viewer.getId(), trackId));
     }
 
     @Test
@@ -300,6 +668,41 @@ class RecipeReadServiceIntegrationTest {
         assertNull(history.get(2).getRating());
     }
 
+    @Test
+    void listRecipeVersionsPage_walksHistoryByVersionNumberCursor() {
+        User owner = persistedAdminUser();
+        BrewMethods method = persistedMethod("V60");
+        RecipeVersionResponseDTO created = recipeVersionService.createRecipe(
+                owner.getId(),
+                createTrackRequest(null, method.getId(), "Paged History", false, null)
+        );
+        for (int rating = 1; rating <= 4; rating++) {
+            UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+            update.setRating(rating);
+            recipeVersionService.updateRecipe(owner.getId(), created.getTrackId(), update);
+        }
+
+        PagedResponseDTO<VersionHistoryItemDTO> first = recipeVersionService.listRecipeVersions(owner.getId(), created.getTrackId(), 2, null);
+        PagedResponseDTO<VersionHistoryItemDTO> second = recipeVersionService.listRecipeVersions(owner.getId(), created.getTrackId(), 2, first.getNextCursor());
+        PagedResponseDTO<VersionHistoryItemDTO> last = recipeVersionService.listRecipeVersions(owner.getId(), created.getTrackId(), 2, second.getNextCursor());
+
+        assertEquals(List.of(5, 4), first.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+        assertTrue(first.getItems().get(0).isCurrent());
+        assertFalse(first.isHasPrevious());
+        assertEquals("4", first.getNextCursor());
+        assertEquals(List.of(3, 2), second.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+        assertTrue(second.isHasPrevious());
+        assertEquals(List.of(1), last.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+
+    private List<UUID> listTrackIds(User viewer, RecipeFilterDTO filter) {
+        return recipeVersionService.listRecipes(viewer.getId(), filter, PageRequest.of(0, 10), null).getItems().stream()
+                .map(TrackSummaryResponseDTO::getTrackId)
+                .toList();
+    }
+
     private User persistedUser() {
         User user = new User();
         user.setEmail("integration-read-" + UUID.randomUUID() + "@coffee.test");
@@ -309,6 +712,17 @@ class RecipeReadServiceIntegrationTest {
         return userRepository.saveAndFlush(user);
     }
 
+    private double cacheGets(String result) {
+        return cacheGets(GlobalRecipeListingCache.CACHE_NAME, result);
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets")
+                .tags("cache", cacheName, "result", result)
+                .functionCounter()
+                .count();
+    }
+
     private User persistedAdminUser() {
         User user = new User();
         user.setEmail("integration-read-admin-" + UUID.randomUUID() + "@coffee.test");
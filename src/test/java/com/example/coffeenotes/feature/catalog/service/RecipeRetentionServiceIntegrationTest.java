@@ -0,0 +1,118 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.UpdateRecipeRequestDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.coffeenotes.support.IntegrationFixtures.waterPour;
+import static org.junit.jupiter.api.Assertions.*;
+
+// A batch size of 2 makes the expired track's versions take more than one batch.
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = {"app.recipe-retention.grace-period=P7D", "app.recipe-retention.batch-size=2"})
+@Transactional
+class RecipeRetentionServiceIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeRetentionService recipeRetentionService;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Autowired
+    private RecipeVersionRepository recipeVersionRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void purgeExpired_hardDeletesTracksPastTheGracePeriodWithTheirChildren() {
+        User owner = fixtures.persistedUser();
+        BrewMethods method = fixtures.persistedMethod();
+        Equipment grinder = fixtures.persistedEquipment();
+        UUID expired = trackWithVersions(owner, method, grinder, "Expired", 3);
+        UUID recent = trackWithVersions(owner, method, grinder, "Recently deleted", 2);
+        UUID live = trackWithVersions(owner, method, grinder, "Live", 2);
+        favoriteService.addFavorite(owner.getId(), expired);
+        recipeVersionService.deleteRecipe(owner.getId(), expired);
+        recipeVersionService.deleteRecipe(owner.getId(), recent);
+        entityManager.flush();
+        entityManager.createNativeQuery("update coffeenotes.recipe_tracks set deleted_at = :deletedAt where id = :trackId")
+                .setParameter("deletedAt", LocalDateTime.now().minusDays(8))
+                .setParameter("trackId", expired)
+                .executeUpdate();
+        entityManager.clear();
+
+        recipeRetentionService.purgeExpired();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertFalse(recipeTrackRepository.existsById(expired));
+        assertTrue(recipeVersionRepository.findByTrack_IdIn(List.of(expired)).isEmpty());
+        assertTrue(favoriteRepository.findAll().stream().noneMatch(f -> f.getId().getRecipeTrackId().equals(expired)));
+        assertTrue(recipeTrackRepository.existsById(recent));
+        assertEquals(2, recipeVersionRepository.findByTrack_IdIn(List.of(recent)).size());
+        assertTrue(recipeTrackRepository.existsById(live));
+        assertEquals(0, recipeRetentionService.purgeDeletedBefore(LocalDateTime.now().minusDays(7)));
+    }
+
+    @Test
+    void purgeDeletedBefore_countsTheTracksRemoved() {
+        User owner = fixtures.persistedUser();
+        BrewMethods method = fixtures.persistedMethod();
+        Equipment grinder = fixtures.persistedEquipment();
+        for (int i = 0; i < 3; i++) {
+            UUID trackId = trackWithVersions(owner, method, grinder, "Gone " + i, 1);
+            recipeVersionService.deleteRecipe(owner.getId(), trackId);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Other tombstones already in the database may be purged as well.
+        assertTrue(recipeRetentionService.purgeDeletedBefore(LocalDateTime.now().plusSeconds(1)) >= 3);
+        assertTrue(recipeTrackRepository.findAllByOwner_Id(owner.getId()).isEmpty());
+    }
+
+    private UUID trackWithVersions(User owner, BrewMethods method, Equipment grinder, String title, int versions) {
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle(title);
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        for (int i = 1; i < versions; i++) {
+            UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+            update.setRating(i);
+            update.setWaterPours(List.of(waterPour(60, "00:00", 0), waterPour(190 + i, "00:45", 1)));
+            update.setEquipmentIds(List.of(grinder.getId()));
+            recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        }
+        return trackId;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.coffeenotes.feature.catalog.service;
 
+import com.example.coffeenotes.api.dto.common.PagedResponseDTO;
 import com.example.coffeenotes.api.dto.recipe.*;
 import com.example.coffeenotes.domain.catalog.*;
 import com.example.coffeenotes.domain.catalog.recipe.*;
@@ -13,8 +14,15 @@ import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
 import com.example.coffeenotes.feature.catalog.repository.FavoriteRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.CreateRecipeLookup;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackDetailsView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackSummaryView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.TrackVersionStamp;
+import com.example.coffeenotes.feature.catalog.repository.recipe.VersionHistoryView;
+import com.example.coffeenotes.feature.catalog.repository.recipe.VersionSnapshotView;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeVersionRepository;
 import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.feature.catalog.search.RecipeSearchIndex;
 import com.example.coffeenotes.feature.user.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -26,22 +34,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -80,6 +90,15 @@ class RecipeVersionServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    private GlobalRecipeListingCache globalRecipeListingCache;
+
+    @Mock
+    private RecipeDetailsCache recipeDetailsCache;
+
     @InjectMocks
     private RecipeVersionService recipeVersionService;
 
@@ -99,14 +118,11 @@ class RecipeVersionServiceTest {
         RecipeVersion savedVersion = version(VERSION_ID, savedTrack, 1, true, "Morning", null);
         savedVersion.setUpdatedAt(LocalDateTime.now());
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
-        when(coffeeBeanRepository.findById(BEAN_ID)).thenReturn(Optional.of(bean));
-        when(brewMethodsRepository.findById(METHOD_ID)).thenReturn(Optional.of(method));
-        when(recipeTrackRepository.findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull(USER_ID, BEAN_ID, METHOD_ID))
-                .thenReturn(Optional.empty());
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, BEAN_ID))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method, bean, false)));
         stubMethodPayloadFlow("{}");
         when(recipeTrackRepository.save(any())).thenReturn(savedTrack);
-        when(recipeVersionRepository.save(any())).thenReturn(savedVersion);
+        when(recipeVersionRepository.saveAndFlush(any())).thenReturn(savedVersion);
 
         RecipeVersionResponseDTO out = recipeVersionService.createRecipe(USER_ID, dto);
 
@@ -117,6 +133,9 @@ class RecipeVersionServiceTest {
         assertEquals(METHOD_ID, out.getMethodId());
         assertEquals("Morning", out.getTitle());
         assertTrue(out.isGlobal());
+        assertEquals(1, savedTrack.getCurrentVersionNumber());
+        assertEquals(savedVersion.getUpdatedAt(), savedTrack.getCurrentVersionUpdatedAt());
+        verify(globalRecipeListingCache).invalidate();
     }
 
     @Test
@@ -128,7 +147,8 @@ class RecipeVersionServiceTest {
         dto.setTitle("Morning");
         dto.setGlobal(true);
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, null))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method(METHOD_ID, "V60"), null, false)));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
                 () -> recipeVersionService.createRecipe(USER_ID, dto));
@@ -149,11 +169,8 @@ class RecipeVersionServiceTest {
         dto.setMethodId(METHOD_ID);
         dto.setTitle("Morning");
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
-        when(coffeeBeanRepository.findById(BEAN_ID)).thenReturn(Optional.of(bean));
-        when(brewMethodsRepository.findById(METHOD_ID)).thenReturn(Optional.of(method));
-        when(recipeTrackRepository.findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull(USER_ID, BEAN_ID, METHOD_ID))
-                .thenReturn(Optional.of(track(TRACK_ID, owner, bean, method, "Morning", false, null)));
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, BEAN_ID))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method, bean, true)));
         stubMethodPayloadFlow("{}");
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
@@ -177,11 +194,11 @@ class RecipeVersionServiceTest {
         RecipeVersion savedVersion = version(VERSION_ID, savedTrack, 1, true, "No Bean Recipe", null);
         savedVersion.setUpdatedAt(LocalDateTime.now());
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
-        when(brewMethodsRepository.findById(METHOD_ID)).thenReturn(Optional.of(method));
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, null))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method, null, false)));
         stubMethodPayloadFlow("{}");
         when(recipeTrackRepository.save(any())).thenReturn(savedTrack);
-        when(recipeVersionRepository.save(any())).thenReturn(savedVersion);
+        when(recipeVersionRepository.saveAndFlush(any())).thenReturn(savedVersion);
 
         RecipeVersionResponseDTO out = recipeVersionService.createRecipe(USER_ID, dto);
 
@@ -189,7 +206,41 @@ class RecipeVersionServiceTest {
         assertNull(out.getBeanId());
         assertEquals(METHOD_ID, out.getMethodId());
         verify(coffeeBeanRepository, never()).findById(any());
-        verify(recipeTrackRepository, never()).findByOwner_IdAndBean_IdAndMethod_IdAndDeletedAtIsNull(any(), any(), any());
+    }
+
+    @Test
+    void createRecipe_whenMethodMissing_throws404AfterResolvingOwner() {
+        CreateTrackRequestDTO dto = new CreateTrackRequestDTO();
+        dto.setMethodId(METHOD_ID);
+        dto.setTitle("Morning");
+
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, null)).thenReturn(Optional.empty());
+        when(userRepository.existsById(USER_ID)).thenReturn(true);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.createRecipe(USER_ID, dto));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Method not found", ex.getReason());
+        verify(brewMethodsRepository, never()).findById(any());
+    }
+
+    @Test
+    void createRecipe_whenUserMissing_throws404() {
+        CreateTrackRequestDTO dto = new CreateTrackRequestDTO();
+        dto.setMethodId(METHOD_ID);
+        dto.setBeanId(BEAN_ID);
+        dto.setTitle("Morning");
+
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, BEAN_ID)).thenReturn(Optional.empty());
+        when(userRepository.existsById(USER_ID)).thenReturn(false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.createRecipe(USER_ID, dto));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("User not found", ex.getReason());
+        verify(coffeeBeanRepository, never()).findById(any());
     }
 
     @Test
@@ -215,193 +266,438 @@ class RecipeVersionServiceTest {
 
         RecipeTrack t2 = track(UUID.randomUUID(), other, bean2, method2, "Global", true, null);
 
-        Favorite favorite = new Favorite();
-        favorite.setUser(owner);
-        favorite.setRecipeTrack(t2);
-
-        RecipeVersion v2 = version(UUID.randomUUID(), t2, 3, true, "Global", null);
-        v2.setRating(5);
-        v2.setUpdatedAt(LocalDateTime.now());
+        t2.setCurrentVersionNumber(3);
+        t2.setCurrentRating(5);
+        t2.setCurrentVersionUpdatedAt(LocalDateTime.now());
 
         RecipeFilterDTO filter = new RecipeFilterDTO();
         filter.setMethodId(method2.getId());
         filter.setFavoritesOnly(true);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<RecipeTrack> trackPage = new PageImpl<>(List.of(t2), pageable, 1);
-
-        when(favoriteRepository.findByUser_Id(USER_ID)).thenReturn(List.of(favorite));
-        when(recipeTrackRepository.findVisibleTracks(
-                eq(USER_ID),
-                eq(method2.getId()),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(true),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                eq("%"),
-                eq(pageable)))
-                .thenReturn(trackPage);
-        when(recipeVersionRepository.findByTrack_IdInAndIsCurrentTrue(List.of(t2.getId())))
-                .thenReturn(List.of(v2));
-
-        Page<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, filter, pageable);
-
-        assertEquals(1, page.getContent().size());
-        TrackSummaryResponseDTO dto = page.getContent().get(0);
+
+        when(favoriteRepository.findFavoriteTrackIds(USER_ID, List.of(t2.getId()))).thenReturn(Set.of(t2.getId()));
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(t2));
+        when(recipeTrackRepository.count(anySpecification())).thenReturn(1L);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, filter, pageable, null);
+
+        assertEquals(1, page.getItems().size());
+        TrackSummaryResponseDTO dto = page.getItems().get(0);
         assertEquals(t2.getId(), dto.getTrackId());
         assertEquals(t2.getBean().getId(), dto.getBeanId());
         assertTrue(dto.isFavorite());
         assertEquals(3, dto.getCurrentVersionNumber());
+        verify(favoriteRepository, never()).findFavoriteTracks(any(), any());
     }
 
     @Test
-    void listRecipes_whenMultipleCurrentVersionsForSameTrack_usesHighestVersionNumberWithoutCrashing() {
+    void listRecipes_readsCurrentVersionFieldsFromTrackWithoutLoadingVersions() {
         User owner = user(USER_ID, "owner@test.com");
         CoffeeBean bean = bean(BEAN_ID, owner, true);
         BrewMethods method = method(METHOD_ID, "V60");
-        RecipeTrack track = track(TRACK_ID, owner, bean, method, "Inconsistent Data Track", true, null);
-
-        RecipeVersion v1 = version(UUID.randomUUID(), track, 1, true, "v1", null);
-        v1.setRating(2);
-        RecipeVersion v2 = version(UUID.randomUUID(), track, 2, true, "v2", null);
-        v2.setRating(5);
+        RecipeTrack track = track(TRACK_ID, owner, bean, method, "Denormalized Track", true, null);
+        LocalDateTime versionUpdatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        track.setCurrentVersionNumber(2);
+        track.setCurrentRating(5);
+        track.setCurrentBrewTimeSeconds(150);
+        track.setCurrentVersionUpdatedAt(versionUpdatedAt);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<RecipeTrack> trackPage = new PageImpl<>(List.of(track), pageable, 1);
-
-        when(favoriteRepository.findByUser_Id(USER_ID)).thenReturn(List.of());
-        when(recipeTrackRepository.findVisibleTracks(
-                eq(USER_ID),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                eq("%"),
-                eq(pageable)))
-                .thenReturn(trackPage);
-        when(recipeVersionRepository.findByTrack_IdInAndIsCurrentTrue(List.of(TRACK_ID)))
-                .thenReturn(List.of(v1, v2));
-
-        Page<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, null, pageable);
-
-        assertEquals(1, page.getContent().size());
-        TrackSummaryResponseDTO dto = page.getContent().get(0);
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(track));
+        when(recipeTrackRepository.count(anySpecification())).thenReturn(1L);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, null, pageable, null);
+
+        assertEquals(1, page.getItems().size());
+        TrackSummaryResponseDTO dto = page.getItems().get(0);
         assertEquals(TRACK_ID, dto.getTrackId());
         assertEquals(2, dto.getCurrentVersionNumber());
         assertEquals(5, dto.getRating());
+        assertEquals(versionUpdatedAt, dto.getUpdatedAt());
+        verifyNoInteractions(recipeVersionRepository);
     }
 
     @Test
-    void listRecipes_whenQIsBlank_passesNullToRepository() {
+    void listRecipes_whenQIsBlank_treatsRequestAsUnfiltered() {
         Pageable pageable = PageRequest.of(0, 10);
         RecipeFilterDTO filter = new RecipeFilterDTO();
         filter.setQ("   ");
 
-        when(favoriteRepository.findByUser_Id(USER_ID)).thenReturn(List.of());
-        when(recipeTrackRepository.findVisibleTracks(
-                eq(USER_ID),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                eq("%"),
-                eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
-
-        recipeVersionService.listRecipes(USER_ID, filter, pageable);
-
-        verify(recipeTrackRepository).findVisibleTracks(
-                eq(USER_ID),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                isNull(),
-                isNull(),
-                isNull(),
-                isNull(),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                any(LocalDateTime.class),
-                eq(false),
-                eq("%"),
-                eq(pageable)
-        );
-    }
-
-    @Test
-    void getRecipe_whenGlobalTrack_returnsDetails() {
-        User owner = user(OTHER_USER_ID, "other@test.com");
-        CoffeeBean bean = bean(BEAN_ID, owner, true);
+        when(recipeTrackRepository.estimateVisibleTracks(USER_ID)).thenReturn(50_000L);
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries());
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, filter, pageable, null, true, true);
+
+        assertTrue(page.isTotalEstimated());
+        verify(recipeTrackRepository).findSummaries(anySpecification(), any(), anyLong(), anyInt());
+        verify(recipeTrackRepository, never()).count(anySpecification());
+    }
+
+    @Test
+    void listRecipes_whenAfterCursorProvided_seeksPastCursorAndReturnsNextCursor() {
+        User owner = user(USER_ID, "owner@test.com");
         BrewMethods method = method(METHOD_ID, "V60");
-        RecipeTrack track = track(TRACK_ID, owner, bean, method, "Global Track", true, null);
+        LocalDateTime cursorUpdatedAt = LocalDateTime.of(2025, 1, 10, 8, 30);
+        UUID cursorTrackId = UUID.randomUUID();
+        String after = new RecipeListCursor(cursorUpdatedAt, cursorTrackId).encode();
+
+        RecipeTrack first = track(UUID.randomUUID(), owner, null, method, "First", false, null);
+        first.setUpdatedAt(cursorUpdatedAt.minusMinutes(1));
+        RecipeTrack second = track(UUID.randomUUID(), owner, null, method, "Second", false, null);
+        second.setUpdatedAt(cursorUpdatedAt.minusMinutes(2));
+        RecipeTrack lookahead = track(UUID.randomUUID(), owner, null, method, "Lookahead", false, null);
+        lookahead.setUpdatedAt(cursorUpdatedAt.minusMinutes(3));
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(first, second, lookahead));
+        when(recipeTrackRepository.count(anySpecification())).thenReturn(7L);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, null, PageRequest.of(5, 2), after);
+
+        assertEquals(List.of(first.getId(), second.getId()), page.getItems().stream().map(TrackSummaryResponseDTO::getTrackId).toList());
+        assertTrue(page.isHasNext());
+        assertTrue(page.isHasPrevious());
+        assertEquals(7, page.getTotalElements());
+        RecipeListCursor next = RecipeListCursor.decode(page.getNextCursor());
+        assertEquals(second.getId(), next.trackId());
+        assertEquals(second.getUpdatedAt().truncatedTo(ChronoUnit.MICROS), next.updatedAt());
+    }
 
-        RecipeVersion current = version(VERSION_ID, track, 2, true, "Global Track", null);
-        current.setCoffeeAmount("15g");
-        current.setWaterAmount("250ml");
+    @Test
+    void listRecipes_whenWithTotalFalse_usesSliceQueryAndSkipsCount() {
+        User owner = user(USER_ID, "owner@test.com");
+        BrewMethods method = method(METHOD_ID, "V60");
+        RecipeTrack track = track(TRACK_ID, owner, null, method, "Mine", false, null);
+        Pageable pageable = PageRequest.of(1, 1);
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(track, track(UUID.randomUUID(), owner, null, method, "Next", false, null)));
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, null, pageable, null, false, false);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1, page.getPage());
+        assertTrue(page.isHasNext());
+        assertTrue(page.isHasPrevious());
+        assertNull(page.getTotalElements());
+        assertNull(page.getTotalPages());
+        assertFalse(page.isTotalEstimated());
+        assertNotNull(page.getNextCursor());
+        verify(recipeTrackRepository, never()).count(anySpecification());
+        verify(recipeTrackRepository, never()).estimateVisibleTracks(any());
+    }
 
-        RecipeWaterPour pour = new RecipeWaterPour();
-        pour.setRecipeVersion(current);
-        pour.setWaterAmount(100);
-        pour.setTime("00:30");
-        pour.setOrderIndex(0);
+    @Test
+    void listRecipes_whenEstimateRequestedForLargeUnfilteredSet_usesPlannerEstimateInsteadOfCount() {
+        Pageable pageable = PageRequest.of(0, 20);
 
-        Equipment equipment = new Equipment();
-        equipment.setId(EQUIPMENT_ID);
-        RecipeEquipment recipeEquipment = new RecipeEquipment();
-        recipeEquipment.setId(new RecipeEquipmentId(VERSION_ID, EQUIPMENT_ID));
-        recipeEquipment.setRecipeVersion(current);
-        recipeEquipment.setEquipment(equipment);
+        when(recipeTrackRepository.estimateVisibleTracks(USER_ID)).thenReturn(250_000L);
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries());
 
-        when(recipeTrackRepository.findById(TRACK_ID)).thenReturn(Optional.of(track));
-        when(recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(TRACK_ID)).thenReturn(Optional.of(current));
-        when(recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(VERSION_ID)).thenReturn(List.of(pour));
-        when(recipeEquipmentRepository.findByRecipeVersion_Id(VERSION_ID)).thenReturn(List.of(recipeEquipment));
-        when(favoriteRepository.existsByUser_IdAndRecipeTrack_Id(USER_ID, TRACK_ID)).thenReturn(true);
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, new RecipeFilterDTO(), pageable, null, true, true);
+
+        assertEquals(250_000L, page.getTotalElements());
+        assertEquals(12_500, page.getTotalPages());
+        assertTrue(page.isTotalEstimated());
+        verify(recipeTrackRepository, never()).count(anySpecification());
+    }
+
+    @Test
+    void listRecipes_whenEstimateRequestedButFilterPresent_runsExactCount() {
+        Pageable pageable = PageRequest.of(0, 20);
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setRatingMin(4);
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries());
+        when(recipeTrackRepository.count(anySpecification())).thenReturn(0L);
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, filter, pageable, null, true, true);
+
+        assertEquals(0L, page.getTotalElements());
+        assertFalse(page.isTotalEstimated());
+        verify(recipeTrackRepository, never()).estimateVisibleTracks(any());
+    }
+
+    @Test
+    void listRecipes_whenSortedByRelevance_ranksSearchResultsWithoutCursor() {
+        User owner = user(USER_ID, "owner@test.com");
+        BrewMethods method = method(METHOD_ID, "V60");
+        RecipeTrack track = track(TRACK_ID, owner, null, method, "Kenya V60", false, null);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("relevance"));
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ("kenya");
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(track, track(UUID.randomUUID(), owner, null, method, "Next", false, null)));
+
+        PagedResponseDTO<TrackSummaryResponseDTO> page = recipeVersionService.listRecipes(USER_ID, filter, pageable, null, false, false);
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void listRecipes_whenSortedByRelevanceWithCursor_throws400() {
+        String after = new RecipeListCursor(LocalDateTime.of(2025, 1, 10, 8, 30), TRACK_ID).encode();
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ("kenya");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.listRecipes(USER_ID, filter, PageRequest.of(0, 10, Sort.by("relevance")), after));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("Relevance ordering does not support cursors.", ex.getReason());
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    @Test
+    void listRecipes_whenAfterCursorMalformed_throws400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.listRecipes(USER_ID, null, PageRequest.of(0, 10), "not-a-cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("Invalid cursor.", ex.getReason());
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    @Test
+    void suggestRecipes_whenTextOnlyAndIndexReady_answersFromIndex() {
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ(" ken ");
+        List<RecipeSuggestionDTO> fromIndex = List.of(new RecipeSuggestionDTO(TRACK_ID, "Kenya", "V60", false, LocalDateTime.now()));
+
+        when(recipeSearchIndex.isReady()).thenReturn(true);
+        when(recipeSearchIndex.suggest(USER_ID, "ken", 5)).thenReturn(fromIndex);
+
+        assertSame(fromIndex, recipeVersionService.suggestRecipes(USER_ID, filter, 5));
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    @Test
+    void suggestRecipes_whenStructuredFilterPresent_fallsBackToSql() {
+        User owner = user(USER_ID, "owner@test.com");
+        BrewMethods method = method(METHOD_ID, "V60");
+        RecipeTrack track = track(TRACK_ID, owner, null, method, "Kenya", false, null);
+        RecipeFilterDTO filter = new RecipeFilterDTO();
+        filter.setQ("ken");
+        filter.setMethodId(METHOD_ID);
+
+        when(recipeTrackRepository.findSummaries(anySpecification(), any(), anyLong(), anyInt()))
+                .thenReturn(summaries(track));
+
+        List<RecipeSuggestionDTO> out = recipeVersionService.suggestRecipes(USER_ID, filter, 5);
+
+        assertEquals(1, out.size());
+        assertEquals(TRACK_ID, out.get(0).getTrackId());
+        assertEquals("V60", out.get(0).getMethodName());
+        verify(recipeSearchIndex, never()).suggest(any(), any(), anyInt());
+    }
+
+    @Test
+    void suggestRecipes_whenLimitOutOfRange_throws400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.suggestRecipes(USER_ID, new RecipeFilterDTO(), 51));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("limit must be between 1 and 50.", ex.getReason());
+    }
+
+    @Test
+    void getRecipe_whenGlobalTrack_returnsDetailsFromSingleLookup() {
+        when(recipeTrackRepository.findDetails(TRACK_ID, USER_ID)).thenReturn(Optional.of(details(OTHER_USER_ID, true, VERSION_ID)));
 
         TrackDetailsResponseDTO dto = recipeVersionService.getRecipe(USER_ID, TRACK_ID);
 
         assertEquals(TRACK_ID, dto.getTrackId());
         assertEquals(BEAN_ID, dto.getBeanId());
         assertEquals(VERSION_ID, dto.getVersionId());
+        assertEquals("15g", dto.getCoffeeAmount());
         assertEquals(1, dto.getWaterPours().size());
-        assertEquals(1, dto.getEquipmentIds().size());
+        assertEquals("00:30", dto.getWaterPours().get(0).getTime());
+        assertEquals(List.of(EQUIPMENT_ID), dto.getEquipmentIds());
         assertTrue(dto.isFavorite());
+        verify(recipeTrackRepository, never()).findById(any());
+        verifyNoInteractions(recipeVersionRepository, recipeWaterPourRepository, recipeEquipmentRepository, favoriteRepository);
+    }
+
+    @Test
+    void getRecipe_whenDetailsCacheEnabled_overlaysCallerFavoriteOnCachedDetails() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        when(recipeDetailsCache.isEnabled()).thenReturn(true);
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+        when(recipeDetailsCache.get(eq(TRACK_ID), eq(VERSION_ID), any())).thenReturn(details(OTHER_USER_ID, true, VERSION_ID));
+
+        TrackDetailsResponseDTO dto = recipeVersionService.getRecipe(USER_ID, TRACK_ID);
+
+        assertEquals(VERSION_ID, dto.getVersionId());
+        assertEquals(List.of(EQUIPMENT_ID), dto.getEquipmentIds());
+        assertFalse(dto.isFavorite());
+        verify(recipeTrackRepository, never()).findDetails(any(), any());
+    }
+
+    @Test
+    void getRecipe_whenDetailsCacheEnabledAndTrackPrivateToAnotherUser_throws404WithoutLoading() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        when(recipeDetailsCache.isEnabled()).thenReturn(true);
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipe(USER_ID, TRACK_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verify(recipeDetailsCache, never()).get(any(), any(), any());
+    }
+
+    @Test
+    void getRecipeETag_changesWithCurrentVersionAndFavoriteState() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        UUID nextVersionId = UUID.randomUUID();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, false)))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, false)))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, true)))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", nextVersionId, updatedAt, true)));
+
+        String first = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+        String repeated = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+        String favorited = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+        String nextVersion = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        assertEquals(first, repeated);
+        assertNotEquals(first, favorited);
+        assertNotEquals(favorited, nextVersion);
+        verify(recipeTrackRepository, never()).findDetails(any(), any());
+    }
+
+    @Test
+    void getRecipeETag_changesWhenTheMethodIsRenamed() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, false)))
+                .thenReturn(Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "Hario V60", VERSION_ID, updatedAt, false)));
+
+        String before = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+        String renamed = recipeVersionService.getRecipeETag(USER_ID, TRACK_ID);
+
+        assertNotEquals(before, renamed);
+    }
+
+    @Test
+    void getRecipe_conditional_readsTheStampOnceForETagAndCachedDetails() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        when(recipeDetailsCache.isEnabled()).thenReturn(true);
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, true)));
+        when(recipeDetailsCache.get(eq(TRACK_ID), eq(VERSION_ID), any())).thenReturn(details(OTHER_USER_ID, true, VERSION_ID));
+
+        TaggedTrackDetails recipe = recipeVersionService.getRecipe(USER_ID, TRACK_ID, eTag -> false);
+
+        verify(recipeTrackRepository, times(1)).findVersionStamp(TRACK_ID, USER_ID);
+        assertEquals(VERSION_ID, recipe.details().getVersionId());
+        assertTrue(recipe.details().isFavorite());
+        assertEquals(recipeVersionService.getRecipeETag(USER_ID, TRACK_ID), recipe.eTag());
+    }
+
+    @Test
+    void getRecipe_conditional_whenNotModified_skipsDetails() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 7, 45);
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+
+        TaggedTrackDetails recipe = recipeVersionService.getRecipe(USER_ID, TRACK_ID, eTag -> true);
+
+        assertNotNull(recipe.eTag());
+        assertNull(recipe.details());
+        verify(recipeTrackRepository, never()).findDetails(any(), any());
+        verifyNoInteractions(recipeDetailsCache);
+    }
+
+    @Test
+    void getRecipeVersionsETag_whenPrivateTrackOfAnotherUser_throws404() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeVersionsETag(USER_ID, TRACK_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Track not found", ex.getReason());
+    }
+
+    @Test
+    void getRecipeBatch_returnsItemsInRequestOrderWithNotFoundMarkers() {
+        UUID hiddenId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        TrackDetailsView visible = details(OTHER_USER_ID, true, VERSION_ID);
+        TrackDetailsView hidden = new TrackDetailsView(hiddenId, OTHER_USER_ID, false, "Private", null, null,
+                null, null, null, null, null, null, METHOD_ID, "V60",
+                UUID.randomUUID(), 1, true, null, null, null, null, null, null, "{}", null, false, List.of(), List.of());
+        when(recipeTrackRepository.findAllDetails(any(), eq(USER_ID))).thenReturn(List.of(hidden, visible));
+
+        List<RecipeBatchItemDTO> items = recipeVersionService.getRecipeBatch(USER_ID,
+                List.of(missingId, TRACK_ID, hiddenId, TRACK_ID));
+
+        assertEquals(List.of(missingId, TRACK_ID, hiddenId), items.stream().map(RecipeBatchItemDTO::getTrackId).toList());
+        assertEquals(List.of(false, true, false), items.stream().map(RecipeBatchItemDTO::isFound).toList());
+        assertNull(items.get(0).getRecipe());
+        assertEquals(VERSION_ID, items.get(1).getRecipe().getVersionId());
+        assertTrue(items.get(1).getRecipe().isFavorite());
+        verify(recipeTrackRepository, times(1)).findAllDetails(any(), eq(USER_ID));
+    }
+
+    @Test
+    void getRecipeBatch_whenMoreThan100Ids_throws400() {
+        List<UUID> trackIds = java.util.stream.Stream.generate(UUID::randomUUID).limit(101).toList();
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeBatch(USER_ID, trackIds));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("At most 100 track ids per batch.", ex.getReason());
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    @Test
+    void getRecipeBatch_whenEmpty_throws400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeBatch(USER_ID, List.of()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("trackIds must not be empty.", ex.getReason());
+    }
+
+    @Test
+    void getRecipe_whenPrivateTrackOfAnotherUser_throws404() {
+        when(recipeTrackRepository.findDetails(TRACK_ID, USER_ID)).thenReturn(Optional.of(details(OTHER_USER_ID, false, VERSION_ID)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipe(USER_ID, TRACK_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Track not found.", ex.getReason());
+    }
+
+    @Test
+    void getRecipe_whenTrackHasNoCurrentVersion_throws404() {
+        when(recipeTrackRepository.findDetails(TRACK_ID, USER_ID)).thenReturn(Optional.of(details(USER_ID, false, null)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipe(USER_ID, TRACK_ID));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Version not found", ex.getReason());
     }
 
     @Test
@@ -420,29 +716,13 @@ class RecipeVersionServiceTest {
         current.setRating(4);
         current.setMethodPayload("{}");
 
-        RecipeWaterPour oldPour = new RecipeWaterPour();
-        oldPour.setRecipeVersion(current);
-        oldPour.setWaterAmount(100);
-        oldPour.setTime("00:30");
-        oldPour.setOrderIndex(0);
-
-        Equipment equipment = new Equipment();
-        equipment.setId(EQUIPMENT_ID);
-        RecipeEquipment oldEquipment = new RecipeEquipment();
-        oldEquipment.setId(new RecipeEquipmentId(current.getId(), EQUIPMENT_ID));
-        oldEquipment.setRecipeVersion(current);
-        oldEquipment.setEquipment(equipment);
-
         UpdateRecipeRequestDTO dto = new UpdateRecipeRequestDTO();
         dto.setTitle("New title");
 
         when(recipeTrackRepository.findById(TRACK_ID)).thenReturn(Optional.of(track));
         when(recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(TRACK_ID)).thenReturn(Optional.of(current));
-        when(recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(current.getId())).thenReturn(List.of(oldPour));
-        when(recipeEquipmentRepository.findByRecipeVersion_Id(current.getId())).thenReturn(List.of(oldEquipment));
         when(recipeTrackRepository.save(any())).thenAnswer(i -> i.getArgument(0));
-        when(equipmentRepository.findById(EQUIPMENT_ID)).thenReturn(Optional.of(equipment));
-        when(recipeVersionRepository.save(any())).thenAnswer(invocation -> {
+        when(recipeVersionRepository.saveAndFlush(any())).thenAnswer(invocation -> {
             RecipeVersion arg = invocation.getArgument(0);
             if (arg == current) {
                 return arg;
@@ -459,9 +739,14 @@ class RecipeVersionServiceTest {
         assertEquals(2, out.getVersionNumber());
         assertEquals("New title", out.getTitle());
         assertFalse(current.isCurrent());
-
-        verify(recipeWaterPourRepository).saveAll(any());
-        verify(recipeEquipmentRepository).saveAll(any());
+        assertEquals(2, track.getCurrentVersionNumber());
+
+        verify(recipeWaterPourRepository).copyToVersion(current.getId(), VERSION_ID);
+        verify(recipeEquipmentRepository).copyToVersion(current.getId(), VERSION_ID);
+        verify(recipeWaterPourRepository, never()).findByRecipeVersion_IdOrderByOrderIndexAsc(any());
+        verify(recipeWaterPourRepository, never()).saveAll(any());
+        verify(recipeEquipmentRepository, never()).saveAll(any());
+        verify(recipeDetailsCache).invalidateTrack(TRACK_ID);
     }
 
     @Test
@@ -505,27 +790,12 @@ class RecipeVersionServiceTest {
         sourceVersion.setRating(4);
         sourceVersion.setMethodPayload("{}");
 
-        RecipeWaterPour sourcePour = new RecipeWaterPour();
-        sourcePour.setRecipeVersion(sourceVersion);
-        sourcePour.setWaterAmount(120);
-        sourcePour.setTime("00:30");
-        sourcePour.setOrderIndex(0);
-
-        Equipment equipment = new Equipment();
-        equipment.setId(EQUIPMENT_ID);
-        RecipeEquipment sourceEquipment = new RecipeEquipment();
-        sourceEquipment.setId(new RecipeEquipmentId(sourceVersion.getId(), EQUIPMENT_ID));
-        sourceEquipment.setRecipeVersion(sourceVersion);
-        sourceEquipment.setEquipment(equipment);
-
         UUID forkTrackId = UUID.fromString("99999999-9999-9999-9999-999999999999");
         UpdateRecipeRequestDTO dto = new UpdateRecipeRequestDTO();
         dto.setTitle("Forked title");
 
         when(recipeTrackRepository.findById(TRACK_ID)).thenReturn(Optional.of(sourceTrack));
         when(recipeVersionRepository.findByTrack_IdAndIsCurrentTrue(TRACK_ID)).thenReturn(Optional.of(sourceVersion));
-        when(recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(sourceVersion.getId())).thenReturn(List.of(sourcePour));
-        when(recipeEquipmentRepository.findByRecipeVersion_Id(sourceVersion.getId())).thenReturn(List.of(sourceEquipment));
         when(userRepository.findById(USER_ID)).thenReturn(Optional.of(editor));
         when(recipeTrackRepository.save(any())).thenAnswer(invocation -> {
             RecipeTrack arg = invocation.getArgument(0);
@@ -534,8 +804,7 @@ class RecipeVersionServiceTest {
             }
             return arg;
         });
-        when(equipmentRepository.findById(EQUIPMENT_ID)).thenReturn(Optional.of(equipment));
-        when(recipeVersionRepository.save(any())).thenAnswer(invocation -> {
+        when(recipeVersionRepository.saveAndFlush(any())).thenAnswer(invocation -> {
             RecipeVersion arg = invocation.getArgument(0);
             arg.setId(VERSION_ID);
             arg.setUpdatedAt(LocalDateTime.now());
@@ -552,6 +821,8 @@ class RecipeVersionServiceTest {
         assertTrue(sourceVersion.isCurrent());
 
         verify(recipeVersionRepository, never()).saveAndFlush(sourceVersion);
+        verify(recipeWaterPourRepository).copyToVersion(sourceVersion.getId(), VERSION_ID);
+        verify(recipeEquipmentRepository).copyToVersion(sourceVersion.getId(), VERSION_ID);
 
         ArgumentCaptor<RecipeTrack> trackCaptor = ArgumentCaptor.forClass(RecipeTrack.class);
         verify(recipeTrackRepository).save(trackCaptor.capture());
@@ -573,9 +844,8 @@ class RecipeVersionServiceTest {
         dto.setTitle("Morning");
         dto.setMethodPayload("{bad json");
 
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
-        when(coffeeBeanRepository.findById(BEAN_ID)).thenReturn(Optional.of(bean));
-        when(brewMethodsRepository.findById(METHOD_ID)).thenReturn(Optional.of(method));
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, BEAN_ID))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method, bean, false)));
         when(methodPayloadStrategyRegistry.getRequired("V60")).thenReturn(methodPayloadStrategy);
         when(objectMapper.readTree("{bad json")).thenThrow(new JsonProcessingException("invalid json") { });
 
@@ -599,9 +869,8 @@ class RecipeVersionServiceTest {
         dto.setMethodPayload("{\"filterShape\":\"invalid\"}");
 
         JsonNode node = new ObjectMapper().readTree(dto.getMethodPayload());
-        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(owner));
-        when(coffeeBeanRepository.findById(BEAN_ID)).thenReturn(Optional.of(bean));
-        when(brewMethodsRepository.findById(METHOD_ID)).thenReturn(Optional.of(method));
+        when(recipeTrackRepository.findCreateLookup(USER_ID, METHOD_ID, BEAN_ID))
+                .thenReturn(Optional.of(new CreateRecipeLookup(owner, method, bean, false)));
         when(methodPayloadStrategyRegistry.getRequired("V60")).thenReturn(methodPayloadStrategy);
         when(objectMapper.readTree(dto.getMethodPayload())).thenReturn(node);
         when(methodPayloadStrategy.validateAndNormalize(node))
@@ -673,46 +942,106 @@ class RecipeVersionServiceTest {
     }
 
     @Test
-    void deleteRecipe_whenValid_softDeletesTrackAndVersions() {
-        User owner = user(USER_ID, "owner@test.com");
-        CoffeeBean bean = bean(BEAN_ID, owner, false);
-        BrewMethods method = method(METHOD_ID, "V60");
-        RecipeTrack track = track(TRACK_ID, owner, bean, method, "Mine", false, null);
-
-        RecipeVersion v1 = version(UUID.randomUUID(), track, 1, true, "v1", null);
-        RecipeVersion v2 = version(UUID.randomUUID(), track, 2, false, "v2", null);
-
-        when(recipeTrackRepository.findById(TRACK_ID)).thenReturn(Optional.of(track));
-        when(recipeVersionRepository.findByTrack_IdOrderByVersionNumberDesc(TRACK_ID)).thenReturn(List.of(v2, v1));
+    void deleteRecipe_whenValid_softDeletesTrackAndVersionsWithBulkUpdates() {
+        when(recipeTrackRepository.findLiveGlobalFlag(TRACK_ID, USER_ID)).thenReturn(Optional.of(true));
+        when(recipeTrackRepository.softDelete(eq(TRACK_ID), eq(USER_ID), any())).thenReturn(1);
 
         recipeVersionService.deleteRecipe(USER_ID, TRACK_ID);
 
-        assertNotNull(track.getDeletedAt());
-        assertNotNull(v1.getDeletedAt());
-        assertNotNull(v2.getDeletedAt());
-        assertFalse(v1.isCurrent());
-
-        verify(recipeVersionRepository).saveAll(any());
-        verify(recipeTrackRepository).save(track);
+        verify(recipeVersionRepository).softDeleteByTrackId(eq(TRACK_ID), any());
+        verify(recipeVersionRepository, never()).saveAll(any());
+        verify(recipeSearchIndex).removeAll(List.of(TRACK_ID));
+        verify(recipeDetailsCache).invalidateTrack(TRACK_ID);
+        verify(globalRecipeListingCache).invalidate();
     }
 
     @Test
-    void listRecipeVersions_whenGlobalTrackForNonOwner_returnsNonDeletedHistory() {
-        User owner = user(OTHER_USER_ID, "other@test.com");
-        CoffeeBean bean = bean(BEAN_ID, owner, true);
-        BrewMethods method = method(METHOD_ID, "V60");
-        RecipeTrack track = track(TRACK_ID, owner, bean, method, "Global", true, null);
+    void deleteRecipe_whenTrackMissingOrNotOwned_throws404WithoutUpdating() {
+        when(recipeTrackRepository.findLiveGlobalFlag(TRACK_ID, USER_ID)).thenReturn(Optional.empty());
 
-        RecipeVersion active = version(UUID.randomUUID(), track, 2, true, "v2", null);
-        RecipeVersion deleted = version(UUID.randomUUID(), track, 1, false, "v1", LocalDateTime.now());
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.deleteRecipe(USER_ID, TRACK_ID));
 
-        when(recipeTrackRepository.findById(TRACK_ID)).thenReturn(Optional.of(track));
-        when(recipeVersionRepository.findByTrack_IdOrderByVersionNumberDesc(TRACK_ID)).thenReturn(List.of(active, deleted));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verify(recipeTrackRepository, never()).softDelete(any(), any(), any());
+        verify(recipeVersionRepository, never()).softDeleteByTrackId(any(), any());
+    }
+
+    @Test
+    void listRecipeVersions_whenGlobalTrackForNonOwner_returnsHistoryProjection() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, true, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+        when(recipeVersionRepository.findHistory(TRACK_ID, Limit.unlimited())).thenReturn(List.of(
+                new VersionHistoryView(VERSION_ID, 2, true, "v2", 4, updatedAt, updatedAt)));
 
         List<VersionHistoryItemDTO> out = recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID);
 
         assertEquals(1, out.size());
         assertEquals(2, out.get(0).getVersionNumber());
+        assertEquals(4, out.get(0).getRating());
+        assertTrue(out.get(0).isCurrent());
+    }
+
+    @Test
+    void listRecipeVersions_whenPrivateTrackOfAnotherUser_throws404WithoutReadingHistory() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(OTHER_USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID, 10, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        verify(recipeVersionRepository, never()).findHistory(any(), any());
+        verify(recipeVersionRepository, never()).findHistoryBefore(any(), anyInt(), any());
+    }
+
+    @Test
+    void listRecipeVersionsPage_readsOneExtraRowForHasNextAndReturnsCursor() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+        when(recipeVersionRepository.findHistoryBefore(TRACK_ID, 10, Limit.of(3))).thenReturn(List.of(
+                new VersionHistoryView(UUID.randomUUID(), 9, false, "v9", null, updatedAt, updatedAt),
+                new VersionHistoryView(UUID.randomUUID(), 8, false, "v8", null, updatedAt, updatedAt),
+                new VersionHistoryView(UUID.randomUUID(), 7, false, "v7", null, updatedAt, updatedAt)));
+
+        PagedResponseDTO<VersionHistoryItemDTO> page = recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID, 2, "10");
+
+        assertEquals(List.of(9, 8), page.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+        assertTrue(page.isHasNext());
+        assertTrue(page.isHasPrevious());
+        assertEquals("8", page.getNextCursor());
+    }
+
+    @Test
+    void listRecipeVersionsPage_withoutCursor_readsFromTheNewestVersion() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(recipeTrackRepository.findVersionStamp(TRACK_ID, USER_ID)).thenReturn(
+                Optional.of(new TrackVersionStamp(USER_ID, false, updatedAt, "V60", VERSION_ID, updatedAt, false)));
+        when(recipeVersionRepository.findHistory(TRACK_ID, Limit.of(3))).thenReturn(List.of(
+                new VersionHistoryView(VERSION_ID, 2, true, "v2", null, updatedAt, updatedAt),
+                new VersionHistoryView(UUID.randomUUID(), 1, false, "v1", null, updatedAt, updatedAt)));
+
+        PagedResponseDTO<VersionHistoryItemDTO> page = recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID, 2, null);
+
+        assertEquals(List.of(2, 1), page.getItems().stream().map(VersionHistoryItemDTO::getVersionNumber).toList());
+        assertFalse(page.isHasNext());
+        assertFalse(page.isHasPrevious());
+        verify(recipeVersionRepository, never()).findHistoryBefore(any(), anyInt(), any());
+    }
+
+    @Test
+    void listRecipeVersionsPage_whenCursorOrSizeInvalid_throws400() {
+        ResponseStatusException badCursor = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID, 10, "abc"));
+        ResponseStatusException badSize = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.listRecipeVersions(USER_ID, TRACK_ID, 101, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, badCursor.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, badSize.getStatusCode());
+        verify(recipeTrackRepository, never()).findVersionStamp(any(), any());
     }
 
     private User user(UUID id, String email) {
@@ -784,4 +1113,112 @@ class RecipeVersionServiceTest {
         }
     }
 
+
+    private List<TrackSummaryView> summaries(RecipeTrack... tracks) {
+        return Arrays.stream(tracks)
+                .map(t -> new TrackSummaryView(
+                        t.getId(),
+                        t.getBean() != null ? t.getBean().getId() : null,
+                        t.getBean() != null ? t.getBean().getName() : null,
+                        t.getMethod().getId(),
+                        t.getMethod().getName(),
+                        t.getTitle(),
+                        t.isGlobal(),
+                        t.getCurrentVersionNumber(),
+                        t.getCurrentRating(),
+                        t.getCurrentVersionUpdatedAt(),
+                        t.getUpdatedAt()))
+                .toList();
+    }
+
+    private Specification<RecipeTrack> anySpecification() {
+        return any();
+    }
+
+    @Test
+    void getRecipeDiff_comparesScalarsAndMatchesPoursByOrderIndex() {
+        when(recipeTrackRepository.findVersionSnapshots(TRACK_ID, Set.of(1, 2))).thenReturn(List.of(
+                snapshot(OTHER_USER_ID, true, 1, "Morning", 3,
+                        List.of(new TrackDetailsView.Pour(60, "00:00", 0), new TrackDetailsView.Pour(100, "00:45", 1))),
+                snapshot(OTHER_USER_ID, true, 2, "Morning", 5,
+                        List.of(new TrackDetailsView.Pour(60, "00:00", 0), new TrackDetailsView.Pour(120, "00:45", 1),
+                                new TrackDetailsView.Pour(70, "01:30", 2)))));
+
+        RecipeDiffResponseDTO diff = recipeVersionService.getRecipeDiff(USER_ID, TRACK_ID, 1, 2);
+
+        assertEquals(1, diff.getFromVersion());
+        assertEquals(2, diff.getToVersion());
+        assertEquals(1, diff.getFields().size());
+        assertEquals("rating", diff.getFields().get(0).getField());
+        assertEquals(3, diff.getFields().get(0).getFrom());
+        assertEquals(5, diff.getFields().get(0).getTo());
+        assertEquals(List.of("changed", "added"), diff.getWaterPours().stream().map(WaterPourChangeDTO::getChange).toList());
+        assertEquals(100, diff.getWaterPours().get(0).getFrom().getWaterAmountMl());
+        assertEquals(120, diff.getWaterPours().get(0).getTo().getWaterAmountMl());
+        assertNull(diff.getWaterPours().get(1).getFrom());
+        assertTrue(diff.getMethodPayload().isEmpty());
+        verifyNoInteractions(objectMapper);
+    }
+
+    @Test
+    void getRecipeDiff_whenPrivateTrackOfAnotherUser_throws404() {
+        when(recipeTrackRepository.findVersionSnapshots(TRACK_ID, Set.of(1, 2))).thenReturn(List.of(
+                snapshot(OTHER_USER_ID, false, 1, "v1", null, List.of()),
+                snapshot(OTHER_USER_ID, false, 2, "v2", null, List.of())));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeDiff(USER_ID, TRACK_ID, 1, 2));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Track not found", ex.getReason());
+    }
+
+    @Test
+    void getRecipeDiff_whenVersionMissing_throws404() {
+        when(recipeTrackRepository.findVersionSnapshots(TRACK_ID, Set.of(1, 7))).thenReturn(List.of(
+                snapshot(USER_ID, false, 1, "v1", null, List.of())));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeDiff(USER_ID, TRACK_ID, 1, 7));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Version not found", ex.getReason());
+    }
+
+    @Test
+    void getRecipeDiff_whenFromEqualsTo_returnsEmptyDiff() {
+        when(recipeTrackRepository.findVersionSnapshots(TRACK_ID, Set.of(2))).thenReturn(List.of(
+                snapshot(USER_ID, false, 2, "v2", 4, List.of())));
+
+        RecipeDiffResponseDTO diff = recipeVersionService.getRecipeDiff(USER_ID, TRACK_ID, 2, 2);
+
+        assertEquals(2, diff.getFromVersion());
+        assertEquals(2, diff.getToVersion());
+        assertTrue(diff.getFields().isEmpty());
+        assertTrue(diff.getWaterPours().isEmpty());
+        assertTrue(diff.getMethodPayload().isEmpty());
+    }
+
+    @Test
+    void getRecipeDiff_whenVersionNumberBelowOne_throws400WithoutQuerying() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.getRecipeDiff(USER_ID, TRACK_ID, 0, 2));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(recipeTrackRepository);
+    }
+
+    private static VersionSnapshotView snapshot(UUID ownerId, boolean isGlobal, int versionNumber, String title,
+                                                Integer rating, List<TrackDetailsView.Pour> pours) {
+        return new VersionSnapshotView(ownerId, isGlobal, UUID.randomUUID(), versionNumber, title, "15g", "250ml",
+                null, null, null, rating, "{}", pours, List.of(EQUIPMENT_ID));
+    }
+
+    private static TrackDetailsView details(UUID ownerId, boolean isGlobal, UUID versionId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TrackDetailsView(TRACK_ID, ownerId, isGlobal, "Global Track", now, now,
+                BEAN_ID, "Bean", null, null, null, null, METHOD_ID, "V60",
+                versionId, 2, versionId != null, "15g", "250ml", null, null, null, null, "{}", now, true,
+                List.of(new TrackDetailsView.Pour(100, "00:30", 0)), List.of(EQUIPMENT_ID));
+    }
 }
@@ -0,0 +1,206 @@
+package com.example.coffeenotes.feature.catalog.service;
+
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.RecipeImportResultDTO;
+import com.example.coffeenotes.api.dto.recipe.UpdateRecipeRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.WaterPourDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeEquipment;
+import com.example.coffeenotes.domain.catalog.recipe.RecipeWaterPour;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeEquipmentRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeWaterPourRepository;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "app.cache.global-listings.enabled=false",
+        "app.cache.recipe-details.enabled=false"
+})
+@Transactional
+class RecipeWriteStatementCountIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeWaterPourRepository recipeWaterPourRepository;
+
+    @Autowired
+    private RecipeEquipmentRepository recipeEquipmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void createRecipe_resolvesOwnerBeanMethodAndDuplicateCheckInOneStatement() {
+        User owner = fixtures.persistedUser();
+        BrewMethods method = fixtures.persistedMethod();
+        CoffeeBean bean = fixtures.persistedBean(owner);
+        Equipment grinder = fixtures.persistedEquipment();
+        entityManager.clear();
+
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setBeanId(bean.getId());
+        create.setMethodId(method.getId());
+        create.setTitle("Create count");
+        create.setMethodPayload("{\"filterShape\":\"cone\"}");
+        create.setEquipmentIds(List.of(grinder.getId()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        recipeVersionService.createRecipe(owner.getId(), create);
+        entityManager.flush();
+
+        // Lookup, track insert, version insert, equipment lookup, equipment insert, track update. The separate user,
+        // bean, method and duplicate-track queries made this 9.
+        assertEquals(6, statistics.getPrepareStatementCount());
+
+        create.setTitle("Duplicate");
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> recipeVersionService.createRecipe(owner.getId(), create));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void updateRecipe_statementCountDoesNotGrowWithChildRows() {
+        BrewMethods method = fixtures.persistedMethod();
+        long fewPours = statementsForUpdate(method, 2);
+        long manyPours = statementsForUpdate(method, 12);
+
+        // Before batching this was 11 + one insert per pour (13 and 23 here); 11 flat once batched, 9 once the
+        // source children are no longer read.
+        assertEquals(fewPours, manyPours);
+        assertTrue(manyPours <= 9, "updateRecipe prepared " + manyPours + " statements");
+    }
+
+    @Test
+    void updateRecipe_withoutChildChanges_copiesChildrenWithoutLoadingThem() {
+        User owner = fixtures.persistedUser();
+        BrewMethods method = fixtures.persistedMethod();
+        Equipment grinder = fixtures.persistedEquipment();
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle("Copy forward");
+        create.setMethodPayload("{\"filterShape\":\"cone\"}");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        UpdateRecipeRequestDTO withChildren = new UpdateRecipeRequestDTO();
+        withChildren.setWaterPours(IntStream.range(0, 4).mapToObj(this::waterPour).toList());
+        withChildren.setEquipmentIds(List.of(grinder.getId()));
+        recipeVersionService.updateRecipe(owner.getId(), trackId, withChildren);
+        entityManager.flush();
+        entityManager.clear();
+
+        UpdateRecipeRequestDTO ratingOnly = new UpdateRecipeRequestDTO();
+        ratingOnly.setRating(5);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        UUID versionId = recipeVersionService.updateRecipe(owner.getId(), trackId, ratingOnly).getVersionId();
+        entityManager.flush();
+
+        assertEquals(0, statistics.getEntityStatistics(RecipeWaterPour.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(RecipeEquipment.class.getName()).getLoadCount());
+        entityManager.clear();
+        assertEquals(List.of(0, 1, 2, 3), recipeWaterPourRepository.findByRecipeVersion_IdOrderByOrderIndexAsc(versionId)
+                .stream().map(RecipeWaterPour::getOrderIndex).toList());
+        assertEquals(List.of(grinder.getId()), recipeEquipmentRepository.findByRecipeVersion_Id(versionId)
+                .stream().map(e -> e.getId().getEquipmentId()).toList());
+    }
+
+    @Test
+    void importRecipes_statementCountDoesNotGrowWithRows() {
+        BrewMethods method = fixtures.persistedMethod();
+        long fewRows = statementsForImport(method, 3);
+        long manyRows = statementsForImport(method, 30);
+
+        assertEquals(fewRows, manyRows);
+        assertTrue(manyRows <= 10, "importRecipes prepared " + manyRows + " statements");
+    }
+
+    private long statementsForImport(BrewMethods method, int rows) {
+        User owner = fixtures.persistedUser();
+        Equipment grinder = fixtures.persistedEquipment();
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            CoffeeBean bean = fixtures.persistedBean(owner);
+            body.append("{\"beanId\":\"").append(bean.getId()).append("\",\"methodId\":\"").append(method.getId())
+                    .append("\",\"title\":\"Import ").append(i).append("\",\"rating\":4,")
+                    .append("\"waterPours\":[{\"waterAmountMl\":60,\"time\":\"00:00\",\"orderIndex\":0},")
+                    .append("{\"waterAmountMl\":190,\"time\":\"00:45\",\"orderIndex\":1}],")
+                    .append("\"equipmentIds\":[\"").append(grinder.getId()).append("\"]}\n");
+        }
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        RecipeImportResultDTO result = recipeImportService.importRecipes(owner.getId(),
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        assertEquals(rows, result.getImported());
+        return statements;
+    }
+
+    private long statementsForUpdate(BrewMethods method, int pours) {
+        User owner = fixtures.persistedUser();
+        Equipment grinder = fixtures.persistedEquipment();
+        CreateTrackRequestDTO create = new CreateTrackRequestDTO();
+        create.setMethodId(method.getId());
+        create.setTitle("Update count");
+        create.setMethodPayload("{\"filterShape\":\"cone\"}");
+        UUID trackId = recipeVersionService.createRecipe(owner.getId(), create).getTrackId();
+        entityManager.flush();
+        entityManager.clear();
+
+        UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+        update.setRating(4);
+        update.setWaterPours(IntStream.range(0, pours).mapToObj(this::waterPour).toList());
+        update.setEquipmentIds(List.of(grinder.getId()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private WaterPourDTO waterPour(int orderIndex) {
+        return IntegrationFixtures.waterPour(50, "00:" + (10 + orderIndex), orderIndex);
+    }
+}
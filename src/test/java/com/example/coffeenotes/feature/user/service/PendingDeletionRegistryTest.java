@@ -0,0 +1,64 @@
+package com.example.coffeenotes.feature.user.service;
+
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
+import com.example.coffeenotes.security.JwtTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PendingDeletionRegistryTest {
+    private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Mock
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Mock
+    private JwtTokenService jwtTokenService;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void markPendingAfterCommit_isOnlyVisibleOnceTheTransactionCommits() {
+        PendingDeletionRegistry registry = registry();
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.markPendingAfterCommit(USER_ID);
+
+        assertFalse(registry.isPending(USER_ID));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(registry.isPending(USER_ID));
+    }
+
+    @Test
+    void reload_picksUpPendingJobsRequestedElsewhere() {
+        PendingDeletionRegistry registry = registry();
+        when(userDeletionJobRepository.findPendingUserIds()).thenReturn(List.of(USER_ID));
+
+        registry.reload();
+
+        assertTrue(registry.isPending(USER_ID));
+        assertFalse(registry.isPending(UUID.randomUUID()));
+    }
+
+    private PendingDeletionRegistry registry() {
+        when(jwtTokenService.getAccessTtlSeconds()).thenReturn(900L);
+        return new PendingDeletionRegistry(userDeletionJobRepository, jwtTokenService);
+    }
+}
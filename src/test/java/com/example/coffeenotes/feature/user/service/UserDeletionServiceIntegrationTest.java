@@ -0,0 +1,243 @@
+package com.example.coffeenotes.feature.user.service;
+
+import com.example.coffeenotes.api.dto.recipe.CreateTrackRequestDTO;
+import com.example.coffeenotes.api.dto.recipe.UpdateRecipeRequestDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.catalog.media.MediaAsset;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.domain.user.UserDeletionJob;
+import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
+import com.example.coffeenotes.feature.catalog.repository.media.MediaAssetRepository;
+import com.example.coffeenotes.feature.catalog.repository.recipe.RecipeTrackRepository;
+import com.example.coffeenotes.feature.catalog.service.FavoriteService;
+import com.example.coffeenotes.feature.catalog.service.RecipeVersionService;
+import com.example.coffeenotes.feature.user.repository.UserDeletionJobRepository;
+import com.example.coffeenotes.feature.user.repository.UserRepository;
+import com.example.coffeenotes.support.IntegrationFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.coffeenotes.support.IntegrationFixtures.waterPour;
+import static org.junit.jupiter.api.Assertions.*;
+
+// A batch size of 2 makes every kind of row take more than one batch.
+@Import(IntegrationFixtures.class)
+@SpringBootTest(properties = "app.user-deletion.batch-size=2")
+class UserDeletionServiceIntegrationTest {
+
+    @Autowired
+    private IntegrationFixtures fixtures;
+
+    @Autowired
+    private UserDeletionService userDeletionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecipeVersionService recipeVersionService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Autowired
+    private CoffeeBeanRepository coffeeBeanRepository;
+
+    @Autowired
+    private BrewMethodsRepository brewMethodsRepository;
+
+    @Autowired
+    private MediaAssetRepository mediaAssetRepository;
+
+    @Autowired
+    private RecipeTrackRepository recipeTrackRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<UUID> committedJobs = new ArrayList<>();
+    private final List<UUID> committedMethods = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userDeletionJobRepository.deleteAllById(committedJobs);
+            brewMethodsRepository.deleteAllById(committedMethods);
+        });
+        committedJobs.clear();
+        committedMethods.clear();
+    }
+
+    @Test
+    @Transactional
+    void purge_removesTheWholeAccountInBoundedBatchesAndKeepsOtherUsersData() {
+        User owner = fixtures.persistedUser(Role.USER);
+        User other = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        Equipment grinder = fixtures.persistedEquipment();
+        CoffeeBean bean = fixtures.persistedBean(owner, false);
+        List<UUID> trackIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UUID trackId = recipeVersionService.createRecipe(owner.getId(),
+                    createRequest(i == 0 ? bean.getId() : null, method.getId(), "Purge " + i)).getTrackId();
+            UpdateRecipeRequestDTO update = new UpdateRecipeRequestDTO();
+            update.setWaterPours(List.of(waterPour(60, "00:00", 0), waterPour(190, "00:45", 1)));
+            update.setEquipmentIds(List.of(grinder.getId()));
+            recipeVersionService.updateRecipe(owner.getId(), trackId, update);
+            trackIds.add(trackId);
+        }
+        favoriteService.addFavorite(owner.getId(), trackIds.get(0));
+        UUID othersTrack = recipeVersionService.createRecipe(other.getId(),
+                createRequest(null, method.getId(), "Not mine")).getTrackId();
+        persistedMedia(owner);
+
+        userService.deleteUser(owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // 6 versions, 3 tracks, 1 bean and 1 media asset at 2 rows a batch, then the user row.
+        assertEquals(3 + 2 + 1 + 1 + 1, userDeletionService.purge(owner.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertTrue(recipeTrackRepository.findAllById(trackIds).isEmpty());
+        assertFalse(coffeeBeanRepository.existsById(bean.getId()));
+        assertTrue(recipeTrackRepository.existsById(othersTrack));
+        assertTrue(userRepository.existsById(other.getId()));
+
+        UserDeletionJob job = userDeletionJobRepository.findById(owner.getId()).orElseThrow();
+        assertEquals(6, job.getVersionsDeleted());
+        assertEquals(3, job.getTracksDeleted());
+        assertEquals(1, job.getBeansDeleted());
+        assertEquals(1, job.getMediaDeleted());
+        assertNotNull(job.getCompletedAt());
+        assertEquals(1, userDeletionService.purge(owner.getId()));
+    }
+
+    // Committed for real: a failed batch must leave the earlier batches in place and the next run must pick up there.
+    @Test
+    void purgePendingDeletions_whenABatchFails_recordsTheErrorAndResumesOnTheNextRun() {
+        User owner = fixtures.persistedUser(Role.USER);
+        User other = fixtures.persistedUser(Role.USER);
+        BrewMethods method = fixtures.persistedMethod();
+        committedMethods.add(method.getId());
+        CoffeeBean sharedBean = fixtures.persistedBean(owner, true);
+        recipeVersionService.createRecipe(owner.getId(), createRequest(null, method.getId(), "Owner track"));
+        recipeVersionService.createRecipe(other.getId(), createRequest(sharedBean.getId(), method.getId(), "Uses the bean"));
+
+        userService.deleteUser(owner.getId());
+        committedJobs.add(owner.getId());
+        userDeletionService.purgePendingDeletions();
+
+        // Another user's track still points at the owner's global bean, so the bean batch fails.
+        UserDeletionJob stalled = userDeletionJobRepository.findById(owner.getId()).orElseThrow();
+        assertNull(stalled.getCompletedAt());
+        assertTrue(stalled.getAttempts() >= 1);
+        assertNotNull(stalled.getLastError());
+        assertEquals(1, stalled.getVersionsDeleted());
+        assertEquals(1, stalled.getTracksDeleted());
+        assertTrue(userRepository.isPendingDeletion(owner.getId()));
+        assertTrue(recipeTrackRepository.findAllByOwner_Id(owner.getId()).isEmpty());
+
+        userService.deleteUser(other.getId());
+        committedJobs.add(other.getId());
+        userDeletionService.purgePendingDeletions();
+        userDeletionService.purgePendingDeletions();
+
+        UserDeletionJob finished = userDeletionJobRepository.findById(owner.getId()).orElseThrow();
+        assertNotNull(finished.getCompletedAt());
+        assertNull(finished.getLastError());
+        assertEquals(1, finished.getBeansDeleted());
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertFalse(userRepository.existsById(other.getId()));
+        assertFalse(userRepository.isPendingDeletion(owner.getId()));
+    }
+
+    // The other instance is played by a transaction holding the job row while purge runs on this thread.
+    @Test
+    void purge_whenAnotherInstanceHoldsTheJob_skipsItUntilReleased() throws Exception {
+        User owner = fixtures.persistedUser(Role.USER);
+        userService.deleteUser(owner.getId());
+        committedJobs.add(owner.getId());
+
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<?> holder = otherInstance.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        assertTrue(userDeletionJobRepository.claimPending(owner.getId()).isPresent());
+                        claimed.countDown();
+                        awaitQuietly(release);
+                    }));
+            assertTrue(claimed.await(10, TimeUnit.SECONDS));
+
+            assertEquals(1, userDeletionService.purge(owner.getId()));
+            assertTrue(userRepository.existsById(owner.getId()));
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            otherInstance.shutdownNow();
+        }
+
+        userDeletionService.purge(owner.getId());
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertNotNull(userDeletionJobRepository.findById(owner.getId()).orElseThrow().getCompletedAt());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CreateTrackRequestDTO createRequest(UUID beanId, UUID methodId, String title) {
+        CreateTrackRequestDTO dto = new CreateTrackRequestDTO();
+        dto.setBeanId(beanId);
+        dto.setMethodId(methodId);
+        dto.setTitle(title);
+        return dto;
+    }
+
+    private void persistedMedia(User owner) {
+        MediaAsset media = new MediaAsset();
+        media.setOwner(owner);
+        media.setType("image");
+        media.setStorageKey("media/" + UUID.randomUUID());
+        mediaAssetRepository.saveAndFlush(media);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.coffeenotes.support;
+
+import com.example.coffeenotes.api.dto.recipe.WaterPourDTO;
+import com.example.coffeenotes.domain.catalog.BrewMethods;
+import com.example.coffeenotes.domain.catalog.CoffeeBean;
+import com.example.coffeenotes.domain.catalog.Equipment;
+import com.example.coffeenotes.domain.catalog.Role;
+import com.example.coffeenotes.domain.user.User;
+import com.example.coffeenotes.feature.catalog.repository.BrewMethodsRepository;
+import com.example.coffeenotes.feature.catalog.repository.CoffeeBeanRepository;
+import com.example.coffeenotes.feature.catalog.repository.EquipmentRepository;
+import com.example.coffeenotes.feature.user.repository.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.UUID;
+
+// Rows the integration tests build on, each flushed right away. Pulled in with @Import(IntegrationFixtures.class);
+// names and emails are random so tests that commit for real never collide.
+@TestComponent
+public class IntegrationFixtures {
+
+    private final UserRepository userRepository;
+    private final CoffeeBeanRepository coffeeBeanRepository;
+    private final BrewMethodsRepository brewMethodsRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    public IntegrationFixtures(UserRepository userRepository,
+                               CoffeeBeanRepository coffeeBeanRepository,
+                               BrewMethodsRepository brewMethodsRepository,
+                               EquipmentRepository equipmentRepository) {
+        this.userRepository = userRepository;
+        this.coffeeBeanRepository = coffeeBeanRepository;
+        this.brewMethodsRepository = brewMethodsRepository;
+        this.equipmentRepository = equipmentRepository;
+    }
+
+    public User persistedUser() {
+        return persistedUser(Role.USER);
+    }
+
+    public User persistedUser(Role role) {
+        User user = new User();
+        user.setEmail("integration-" + UUID.randomUUID() + "@coffee.test");
+        user.setPasswordHash("hashed-password");
+        user.setDisplayName("Integration User");
+        user.setRole(role);
+        return userRepository.saveAndFlush(user);
+    }
+
+    public CoffeeBean persistedBean(User owner) {
+        return persistedBean(owner, false);
+    }
+
+    public CoffeeBean persistedBean(User owner, boolean global) {
+        CoffeeBean bean = new CoffeeBean();
+        bean.setOwner(owner);
+        bean.setName("Bean " + UUID.randomUUID());
+        bean.setGlobal(global);
+        return coffeeBeanRepository.saveAndFlush(bean);
+    }
+
+    public BrewMethods persistedMethod() {
+        return persistedMethod("V60");
+    }
+
+    public BrewMethods persistedMethod(String name) {
+        BrewMethods method = new BrewMethods();
+        method.setName(name);
+        method.setDescription(name + " method");
+        return brewMethodsRepository.saveAndFlush(method);
+    }
+
+    public Equipment persistedEquipment() {
+        Equipment equipment = new Equipment();
+        equipment.setName("Grinder " + UUID.randomUUID());
+        equipment.setDescription("Integration test equipment");
+        return equipmentRepository.saveAndFlush(equipment);
+    }
+
+    public static WaterPourDTO waterPour(int waterAmountMl, String time, int orderIndex) {
+        WaterPourDTO dto = new WaterPourDTO();
+        dto.setWaterAmountMl(waterAmountMl);
+        dto.setTime(time);
+        dto.setOrderIndex(orderIndex);
+        return dto;
+    }
+}